@@ -0,0 +1,43 @@
+package com.eazybytes.accounts.conditional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * What a conditional GET compares: a strong ETag and the Last-Modified time of a
+ * resource. The ETag is the id of the customer and the JPA versions of the rows behind
+ * it: every update through the entities bumps a version, and deleting and recreating a
+ * mobile number gives a new customer id. Last-Modified is the newest audit timestamp.
+ * Built by a projection query, without loading the entity.
+ *
+ * @param eTag         - Quoted strong entity tag
+ * @param lastModified - Newest audit timestamp in epoch milliseconds, -1 if none is set
+ */
+public record ResourceVersion(String eTag, long lastModified) {
+
+    /**
+     * @param customerId        - Id of the customer
+     * @param customerVersion   - Version of the customer row
+     * @param accountVersion    - Version of its account row
+     * @param customerCreatedAt - Creation time of the customer row
+     * @param customerUpdatedAt - Last update time of the customer row
+     * @param accountCreatedAt  - Creation time of its account row
+     * @param accountUpdatedAt  - Last update time of its account row
+     */
+    public ResourceVersion(Long customerId, Long customerVersion, Long accountVersion,
+                           LocalDateTime customerCreatedAt, LocalDateTime customerUpdatedAt,
+                           LocalDateTime accountCreatedAt, LocalDateTime accountUpdatedAt) {
+        this("\"" + customerId + "-" + customerVersion + "-" + accountVersion + "\"",
+                lastModified(customerCreatedAt, customerUpdatedAt, accountCreatedAt, accountUpdatedAt));
+    }
+
+    private static long lastModified(LocalDateTime... timestamps) {
+        long lastModified = -1;
+        for (LocalDateTime timestamp : timestamps) {
+            if (timestamp != null) {
+                lastModified = Math.max(lastModified, timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+        }
+        return lastModified;
+    }
+}
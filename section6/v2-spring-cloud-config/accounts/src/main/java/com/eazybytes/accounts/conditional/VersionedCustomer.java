@@ -0,0 +1,28 @@
+package com.eazybytes.accounts.conditional;
+
+import com.eazybytes.accounts.dto.CustomerDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Account Details of a customer with the ResourceVersion of the same row, so the ETag
+ * sent with a body always describes that body. This is what the customers cache holds.
+ *
+ * @param customer - Account Details of the customer
+ * @param version  - ETag and Last-Modified of those details
+ */
+public record VersionedCustomer(CustomerDto customer, ResourceVersion version) {
+
+    /**
+     * Used by the JPQL constructor expression in CustomerRepository to build both from one row
+     */
+    public VersionedCustomer(String name, String email, String mobileNumber,
+                             Long accountNumber, String accountType, String branchAddress,
+                             Long customerId, Long customerVersion, Long accountVersion,
+                             LocalDateTime customerCreatedAt, LocalDateTime customerUpdatedAt,
+                             LocalDateTime accountCreatedAt, LocalDateTime accountUpdatedAt) {
+        this(new CustomerDto(name, email, mobileNumber, accountNumber, accountType, branchAddress),
+                new ResourceVersion(customerId, customerVersion, accountVersion,
+                        customerCreatedAt, customerUpdatedAt, accountCreatedAt, accountUpdatedAt));
+    }
+}
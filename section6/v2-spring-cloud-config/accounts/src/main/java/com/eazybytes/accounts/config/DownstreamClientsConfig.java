@@ -0,0 +1,54 @@
+package com.eazybytes.accounts.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * RestClients for the cards and loans services. Both share one JDK HttpClient,
+ * so connections are pooled and kept alive across calls, and every call is
+ * bounded by the connect and read timeouts. Responses are requested in the
+ * downstream.accept media type, CBOR by default, which BinaryFormatsConfig
+ * decodes with the DTOs' usual Jackson mapping.
+ */
+@Configuration
+public class DownstreamClientsConfig {
+
+    @Bean
+    public HttpClient downstreamHttpClient(@Value("${downstream.connect-timeout}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    @Bean
+    public JdkClientHttpRequestFactory downstreamRequestFactory(HttpClient downstreamHttpClient,
+                                                                @Value("${downstream.read-timeout}") Duration readTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(downstreamHttpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
+    }
+
+    @Bean
+    public RestClient cardsRestClient(RestClient.Builder builder, JdkClientHttpRequestFactory downstreamRequestFactory,
+                                      @Value("${downstream.cards.url}") String cardsUrl,
+                                      @Value("${downstream.accept}") String accept) {
+        return builder.clone().requestFactory(downstreamRequestFactory).baseUrl(cardsUrl)
+                .defaultHeader(HttpHeaders.ACCEPT, accept).build();
+    }
+
+    @Bean
+    public RestClient loansRestClient(RestClient.Builder builder, JdkClientHttpRequestFactory downstreamRequestFactory,
+                                      @Value("${downstream.loans.url}") String loansUrl,
+                                      @Value("${downstream.accept}") String accept) {
+        return builder.clone().requestFactory(downstreamRequestFactory).baseUrl(loansUrl)
+                .defaultHeader(HttpHeaders.ACCEPT, accept).build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.eazybytes.accounts.config;
+
+import com.eazybytes.allocator.NumberAllocator;
+import com.eazybytes.accounts.constants.AccountsConstants;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Account numbers, 10 digits, drawn from account_number_seq.
+ */
+@Configuration
+public class NumberAllocatorConfig {
+
+    @Bean
+    public NumberAllocator numberAllocator(JdbcTemplate jdbcTemplate) {
+        return new NumberAllocator(jdbcTemplate, AccountsConstants.ACCOUNT_NUMBER_SEQUENCE, AccountsConstants.ACCOUNT_NUMBER_BLOCK_SIZE,
+                AccountsConstants.ACCOUNT_NUMBER_BASE, AccountsConstants.ACCOUNT_NUMBER_MAX);
+    }
+}
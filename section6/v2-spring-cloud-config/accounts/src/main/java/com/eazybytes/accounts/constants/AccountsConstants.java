@@ -7,16 +7,44 @@ public class AccountsConstants {
     }
 
     public static final String  SAVINGS = "Savings";
+    // the unique constraint behind the "already registered" answers, see schema.sql
+    public static final String  CUSTOMER_MOBILE_NUMBER_CONSTRAINT = "uk_customer_mobile_number";
     public static final String  ADDRESS = "123 Main Street, New York";
+    // mobile numbers per IN list of /api/delete/batch
+    public static final int  DELETE_BATCH_IN_LIST_SIZE = 500;
+    public static final String  IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    // Jackson Smile, served next to JSON and CBOR, see BinaryFormatsConfig
+    public static final String  SMILE_MEDIA_TYPE = "application/x-jackson-smile";
     public static final String  STATUS_201 = "201";
     public static final String  MESSAGE_201 = "Account created successfully";
     public static final String  STATUS_200 = "200";
+    public static final String  STATUS_400 = "400";
+    public static final String  MESSAGE_400_EXISTS = "Customer already registered with given mobile number";
     public static final String  MESSAGE_200 = "Request processed successfully";
     public static final String  STATUS_417 = "417";
     public static final String  MESSAGE_417_UPDATE= "Update operation failed. Please try again or contact Dev team";
     public static final String  MESSAGE_417_DELETE= "Delete operation failed. Please try again or contact Dev team";
     public static final String  STATUS_500 = "500";
     public static final String  MESSAGE_500 = "An error occurred. Please try again or contact Dev team";
+    // customers persisted per transaction by the bulk endpoint, JDBC batches inside are sized by hibernate.jdbc.batch_size
+    public static final int  BULK_CHUNK_SIZE = 500;
+    // must match spring.cache.cache-names in application.yml
+    public static final String  CUSTOMERS_CACHE = "customers";
+    // mobile numbers per IN list of /api/fetch/batch, a full batch of 1000 costs at most 2 queries
+    public static final int  FETCH_BATCH_IN_LIST_SIZE = 500;
+    // customers per keyset page of /api/export
+    public static final int  EXPORT_PAGE_SIZE = 1000;
+    // page size bounds of /api/list
+    public static final String  LIST_DEFAULT_PAGE_SIZE = "20";
+    public static final int  LIST_MAX_PAGE_SIZE = 100;
+    // names reported in CustomerDetailsDto.unavailableServices
+    public static final String  CARDS_SERVICE = "cards";
+    public static final String  LOANS_SERVICE = "loans";
+    // must match INCREMENT BY of account_number_seq in schema.sql
+    public static final String  ACCOUNT_NUMBER_SEQUENCE = "account_number_seq";
+    public static final int  ACCOUNT_NUMBER_BLOCK_SIZE = 1000;
+    public static final long  ACCOUNT_NUMBER_BASE = 1_000_000_000L;
+    public static final long  ACCOUNT_NUMBER_MAX = 9_999_999_999L;
 
 
 }
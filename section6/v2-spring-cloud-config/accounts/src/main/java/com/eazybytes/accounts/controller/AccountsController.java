@@ -1,11 +1,30 @@
 package com.eazybytes.accounts.controller;
 
+import com.eazybytes.accounts.conditional.ResourceVersion;
+import com.eazybytes.accounts.conditional.VersionedCustomer;
 import com.eazybytes.accounts.constants.AccountsConstants;
 import com.eazybytes.accounts.dto.AccountsContactInfoDto;
+import com.eazybytes.accounts.dto.BulkItemResponseDto;
+import com.eazybytes.accounts.dto.BulkResponseDto;
+import com.eazybytes.accounts.dto.CustomerDetailsDto;
 import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerPageDto;
+import com.eazybytes.accounts.dto.CustomerPatchDto;
+import com.eazybytes.accounts.dto.DeleteBatchRequestDto;
+import com.eazybytes.accounts.dto.DeleteBatchResponseDto;
 import com.eazybytes.accounts.dto.ErrorResponseDto;
+import com.eazybytes.accounts.dto.FetchBatchRequestDto;
+import com.eazybytes.accounts.dto.FetchBatchResponseDto;
 import com.eazybytes.accounts.dto.ResponseDto;
 import com.eazybytes.accounts.service.IAccountsService;
+import com.eazybytes.accounts.service.ICustomersService;
+import com.eazybytes.accounts.idempotency.IdempotencyStore;
+import com.eazybytes.config.stream.HotSwapPropertiesPostProcessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,7 +32,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -23,13 +45,23 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 @Tag(
         name = "CRUD REST APIs for Accounts in EazyBank",
         description = "CRUD REST APIs in EazyBank to CREATE, UPDATE, FETCH and DELETE account details"
 )
 @RestController
-@RequestMapping(path = "/api", produces={MediaType.APPLICATION_JSON_VALUE})
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE, AccountsConstants.SMILE_MEDIA_TYPE})
 //@AllArgsConstructor
 @Validated
 public class AccountsController {
@@ -52,6 +84,15 @@ public class AccountsController {
     @Autowired
     private AccountsContactInfoDto accountsContactInfoDto;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ICustomersService iCustomersService;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
     @Operation(
             summary = "Create Account REST API",
             description = "REST API to create new Customer & Account inside EazyBank"
@@ -61,6 +102,13 @@ public class AccountsController {
                     responseCode = "201",
                     description = "HTTP status CREATED"
             ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "HTTP Status Conflict, Idempotency-Key reused for another request or still in progress",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
@@ -71,13 +119,88 @@ public class AccountsController {
     }
     )
     @PostMapping("/create")
-    public ResponseEntity<ResponseDto> createAccount(@Valid @RequestBody CustomerDto customerDto){
+    public ResponseEntity<ResponseDto> createAccount(@Valid @RequestBody CustomerDto customerDto,
+                                                     @RequestHeader(name = AccountsConstants.IDEMPOTENCY_KEY_HEADER, required = false)
+                                                     @Size(max = 255, message = "Idempotency-Key must be at most 255 characters")
+                                                     String idempotencyKey){
 
-        iAccountsService.createAccount(customerDto);
+        return idempotencyStore.execute(idempotencyKey, customerDto, () -> {
+            iAccountsService.createAccount(customerDto);
+
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(new ResponseDto(AccountsConstants.STATUS_201, AccountsConstants.MESSAGE_201));
+        });
+    }
+
+    @Operation(
+            summary = "Bulk Create Account REST API",
+            description = "REST API to create many Customers & Accounts inside EazyBank from a JSON array"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP status OK, outcome of each customer in the body"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PostMapping(path = "/create/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResponseDto> createAccounts(@RequestBody List<CustomerDto> customerDtos) {
+        List<BulkItemResponseDto> results = new ArrayList<>(customerDtos.size());
+        iAccountsService.createAccounts(customerDtos.iterator(), results::add);
+        return bulkResponse(results);
+    }
 
+    @Operation(
+            summary = "Bulk Create Account REST API (NDJSON)",
+            description = "REST API to create many Customers & Accounts inside EazyBank from a newline delimited JSON stream, " +
+                    "answering with one outcome line per customer as each chunk is done"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP status OK, outcome of each customer as one line of the body"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PostMapping(path = "/create/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createAccountsStreaming(InputStream inputStream) {
+        // neither the customers nor their outcomes are held for the whole request
+        StreamingResponseBody body = ndjson(BulkItemResponseDto.class, sink -> {
+            try (MappingIterator<CustomerDto> customerDtos = objectMapper.readerFor(CustomerDto.class).readValues(inputStream)) {
+                iAccountsService.createAccounts(customerDtos, sink);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
         return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(new ResponseDto(AccountsConstants.STATUS_201, AccountsConstants.MESSAGE_201));
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private ResponseEntity<BulkResponseDto> bulkResponse(List<BulkItemResponseDto> results) {
+        int succeeded = (int) results.stream()
+                .filter(result -> AccountsConstants.STATUS_201.equals(result.getStatusCode()))
+                .count();
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new BulkResponseDto(results.size(), succeeded, results.size() - succeeded, results));
     }
 
     @Operation(
@@ -89,6 +212,10 @@ public class AccountsController {
                     responseCode = "200",
                     description = "HTTP status OK"
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "HTTP Status Not Modified, the If-None-Match or If-Modified-Since header still matches"
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
@@ -101,12 +228,162 @@ public class AccountsController {
     @GetMapping("/fetch")
     public ResponseEntity<CustomerDto> fetchAccountDetails(@RequestParam
                                                                @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
-                                                                       String mobileNumber){
-        CustomerDto customerDto = iAccountsService.fetchAccount(mobileNumber);
+                                                                       String mobileNumber,
+                                                           WebRequest webRequest){
+        // a poll whose If-None-Match / If-Modified-Since still matches gets a bodiless 304;
+        // otherwise checkNotModified has set ETag and Last-Modified of the very body sent
+        VersionedCustomer versionedCustomer = iAccountsService.fetchVersionedAccount(mobileNumber);
+        ResourceVersion version = versionedCustomer.version();
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified())) {
+            return null;
+        }
 
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(customerDto);
+                .body(versionedCustomer.customer());
+    }
+
+    @Operation(
+            summary = "Fetch Customer Details REST API",
+            description = "REST API to fetch Customer, Account, Cards and Loans details based on a mobile number"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP status OK, services that did not answer in time are listed in unavailableServices"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping("/fetchCustomerDetails")
+    public ResponseEntity<CustomerDetailsDto> fetchCustomerDetails(@RequestParam
+                                                                   @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+                                                                   String mobileNumber) {
+        CustomerDetailsDto customerDetailsDto = iCustomersService.fetchCustomerDetails(mobileNumber);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(customerDetailsDto);
+    }
+
+    @Operation(
+            summary = "Batch Fetch Account Details REST API",
+            description = "REST API to fetch Customer & Account details of up to 1000 mobile numbers in one call"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PostMapping("/fetch/batch")
+    public ResponseEntity<FetchBatchResponseDto> fetchAccountDetailsBatch(@Valid @RequestBody FetchBatchRequestDto fetchBatchRequestDto) {
+        FetchBatchResponseDto fetchBatchResponseDto = iAccountsService.fetchAccounts(fetchBatchRequestDto.getMobileNumbers());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(fetchBatchResponseDto);
+    }
+
+    @Operation(
+            summary = "List Account Details REST API",
+            description = "REST API to page through Customer & Account details, optionally of one account type"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status Bad Request",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping("/list")
+    public ResponseEntity<CustomerPageDto> listAccountDetails(@RequestParam(required = false) String accountType,
+                                                              @RequestParam(required = false) String pageToken,
+                                                              @RequestParam(defaultValue = AccountsConstants.LIST_DEFAULT_PAGE_SIZE)
+                                                              @Min(value = 1, message = "Page size must be at least 1")
+                                                              @Max(value = AccountsConstants.LIST_MAX_PAGE_SIZE, message = "Page size must be at most 100")
+                                                              int pageSize) {
+        CustomerPageDto customerPageDto = iAccountsService.listAccounts(accountType, pageToken, pageSize);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(customerPageDto);
+    }
+
+    @Operation(
+            summary = "Export Account Details REST API",
+            description = "REST API to stream every Customer & Account as newline delimited JSON"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAccountDetails() {
+        StreamingResponseBody body = ndjson(CustomerDto.class, iAccountsService::exportAccounts);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * @param type - Type of the values written
+     * @param producer - Hands every value to the sink it is given
+     * @return body writing one line per value, flushed by the servlet buffer rather than after every value
+     */
+    private <T> StreamingResponseBody ndjson(Class<T> type, Consumer<Consumer<T>> producer) {
+        ObjectWriter writer = objectMapper.writerFor(type)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null)) {
+                producer.accept(value -> {
+                    try {
+                        writer.writeValue(generator, value);
+                        generator.writeRaw('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
     }
 
     @Operation(
@@ -144,6 +421,44 @@ public class AccountsController {
         }
     }
 
+    @Operation(
+            summary = "Patch Account Details REST API",
+            description = "REST API to change some Customer & Account fields based on a mobile number, absent fields are left as they are"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "417",
+                    description = "Expectation Failed"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PatchMapping("/update")
+    public ResponseEntity<ResponseDto> patchAccountDetails(@RequestParam
+                                                           @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+                                                           String mobileNumber,
+                                                           @Valid @RequestBody CustomerPatchDto customerPatchDto) {
+        boolean isUpdated = iAccountsService.patchAccount(mobileNumber, customerPatchDto);
+        if(isUpdated) {
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .body(new ResponseDto(AccountsConstants.STATUS_200, AccountsConstants.MESSAGE_200));
+        }else{
+            return ResponseEntity
+                    .status(HttpStatus.EXPECTATION_FAILED)
+                    .body(new ResponseDto(AccountsConstants.STATUS_417, AccountsConstants.MESSAGE_417_UPDATE));
+        }
+    }
+
     @Operation(
             summary = "Delete Account & Customer Details REST API",
             description = "REST API to delete Customer & Account details based on a mobile number"
@@ -181,6 +496,31 @@ public class AccountsController {
         }
     }
 
+    @Operation(
+            summary = "Batch Delete Account Details REST API",
+            description = "REST API to delete Customers & Accounts of up to 1000 mobile numbers in one transaction"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping("/delete/batch")
+    public ResponseEntity<DeleteBatchResponseDto> deleteAccountDetailsBatch(@Valid @RequestBody DeleteBatchRequestDto deleteBatchRequestDto) {
+        DeleteBatchResponseDto deleteBatchResponseDto = iAccountsService.deleteAccounts(deleteBatchRequestDto.getMobileNumbers());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(deleteBatchResponseDto);
+    }
+
     @Operation(
             summary = "Get Build information",
             description = "Get Build information that is deployed into accounts microservice"
@@ -253,7 +593,7 @@ public class AccountsController {
     public ResponseEntity<AccountsContactInfoDto> getContactInfo(){
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(accountsContactInfoDto);
+                .body(HotSwapPropertiesPostProcessor.snapshot(accountsContactInfoDto));
     }
 
 }
@@ -0,0 +1,25 @@
+package com.eazybytes.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+@Data
+@Schema(
+        name = "AccountsPatch",
+        description = "Schema to hold the Account fields to change, absent fields are left as they are"
+)
+public class AccountsPatchDto {
+
+    @Pattern(regexp = "^(?!\\s*$).+", message = "Account type cannot be empty")
+    @Schema(
+            description = "Account type of Eazy Bank account", example = "Savings"
+    )
+    private String accountType;
+
+    @Pattern(regexp = "^(?!\\s*$).+", message = "Branch address cannot be empty")
+    @Schema(
+            description = "Eazy Bank branch address", example = "123 Kuala Lumpur"
+    )
+    private String branchAddress;
+}
@@ -0,0 +1,33 @@
+package com.eazybytes.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data @AllArgsConstructor
+@Schema(
+        name = "BulkItemResponse",
+        description = "Schema to hold the outcome of a single customer in a bulk request"
+)
+public class BulkItemResponseDto {
+
+    @Schema(
+            description = "Position of the customer in the bulk request", example = "0"
+    )
+    private int index;
+
+    @Schema(
+            description = "Mobile Number of the customer", example = "9345432123"
+    )
+    private String mobileNumber;
+
+    @Schema(
+            description = "Status code for this customer", example = "201"
+    )
+    private String statusCode;
+
+    @Schema(
+            description = "Status message for this customer", example = "Account created successfully"
+    )
+    private String statusMsg;
+}
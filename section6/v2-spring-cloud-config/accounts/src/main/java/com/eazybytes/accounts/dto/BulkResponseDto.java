@@ -0,0 +1,35 @@
+package com.eazybytes.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data @AllArgsConstructor
+@Schema(
+        name = "BulkResponse",
+        description = "Schema to hold the per customer outcome of a bulk request"
+)
+public class BulkResponseDto {
+
+    @Schema(
+            description = "Number of customers received in the request"
+    )
+    private int total;
+
+    @Schema(
+            description = "Number of customers processed successfully"
+    )
+    private int succeeded;
+
+    @Schema(
+            description = "Number of customers that failed"
+    )
+    private int failed;
+
+    @Schema(
+            description = "Outcome of each customer, in request order"
+    )
+    private List<BulkItemResponseDto> results;
+}
@@ -0,0 +1,51 @@
+package com.eazybytes.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(
+        name = "CustomerDetails",
+        description = "Schema to hold Customer, Account, Cards and Loans information"
+)
+public class CustomerDetailsDto {
+
+    @Schema(
+            description = "Name of the customer", example = "Eazy Bytes"
+    )
+    private String name;
+
+    @Schema(
+            description = "Email address of the customer", example = "tutor@eazybytes.com"
+    )
+    private String email;
+
+    @Schema(
+            description = "Mobile Number of the customer", example = "9345432123"
+    )
+    private String mobileNumber;
+
+    @Schema(
+            description = "Account Details of the customer"
+    )
+    private AccountsDto accountsDto;
+
+    @Schema(
+            description = "Card Details of the customer, absent without a card or when cards did not answer in time"
+    )
+    private CardsDto cardsDto;
+
+    @Schema(
+            description = "Loan Details of the customer, absent without a loan or when loans did not answer in time"
+    )
+    private LoansDto loansDto;
+
+    @Schema(
+            description = "Services that failed or did not answer in time, empty for a complete response",
+            example = "[\"cards\"]"
+    )
+    private List<String> unavailableServices = new ArrayList<>();
+}
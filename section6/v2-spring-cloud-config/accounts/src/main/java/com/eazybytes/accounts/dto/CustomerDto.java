@@ -6,8 +6,9 @@ import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
-@Data
+@Data @NoArgsConstructor
 @Schema(
         name = "Customer",
         description = "Schema to hold Customer and Account Information"
@@ -39,4 +40,19 @@ public class CustomerDto {
             description = "Account Details of the customer"
     )
     private AccountsDto accountsDto;
+
+    /**
+     * Used by the JPQL constructor expression in CustomerRepository to build the
+     * customer and its account from one row without loading any entity
+     */
+    public CustomerDto(String name, String email, String mobileNumber,
+                       Long accountNumber, String accountType, String branchAddress) {
+        this.name = name;
+        this.email = email;
+        this.mobileNumber = mobileNumber;
+        this.accountsDto = new AccountsDto();
+        this.accountsDto.setAccountNumber(accountNumber);
+        this.accountsDto.setAccountType(accountType);
+        this.accountsDto.setBranchAddress(branchAddress);
+    }
 }
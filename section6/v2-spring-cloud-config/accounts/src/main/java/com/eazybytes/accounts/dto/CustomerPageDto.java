@@ -0,0 +1,25 @@
+package com.eazybytes.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data @AllArgsConstructor
+@Schema(
+        name = "CustomerPage",
+        description = "Schema to hold one page of Customer and Account information"
+)
+public class CustomerPageDto {
+
+    @Schema(
+            description = "Customer and Account details of the page"
+    )
+    private List<CustomerDto> customers;
+
+    @Schema(
+            description = "Token to pass as pageToken for the next page, absent on the last page"
+    )
+    private String nextPageToken;
+}
@@ -0,0 +1,25 @@
+package com.eazybytes.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data @AllArgsConstructor
+@Schema(
+        name = "DeleteBatchResponse",
+        description = "Schema to hold the outcome of a batch delete"
+)
+public class DeleteBatchResponseDto {
+
+    @Schema(
+            description = "Number of customers deleted", example = "2"
+    )
+    private int deleted;
+
+    @Schema(
+            description = "Mobile numbers without a customer, in request order"
+    )
+    private List<String> notFound;
+}
@@ -0,0 +1,24 @@
+package com.eazybytes.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(
+        name = "FetchBatchRequest",
+        description = "Schema to hold the mobile numbers of a batch fetch"
+)
+public class FetchBatchRequestDto {
+
+    @Schema(
+            description = "Mobile Numbers of the customers", example = "[\"9345432123\", \"9345432124\"]"
+    )
+    @NotEmpty(message = "Mobile numbers cannot be null or empty")
+    @Size(max = 1000, message = "At most 1000 mobile numbers can be fetched at once")
+    private List<@Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits") String> mobileNumbers;
+}
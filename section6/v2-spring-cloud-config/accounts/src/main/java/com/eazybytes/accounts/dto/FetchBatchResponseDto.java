@@ -0,0 +1,25 @@
+package com.eazybytes.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data @AllArgsConstructor
+@Schema(
+        name = "FetchBatchResponse",
+        description = "Schema to hold Customer and Account information of a batch fetch"
+)
+public class FetchBatchResponseDto {
+
+    @Schema(
+            description = "Customers found, in request order"
+    )
+    private List<CustomerDto> found;
+
+    @Schema(
+            description = "Mobile numbers without a customer, in request order"
+    )
+    private List<String> notFound;
+}
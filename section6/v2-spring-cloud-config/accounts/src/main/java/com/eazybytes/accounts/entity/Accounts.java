@@ -2,8 +2,14 @@ package com.eazybytes.accounts.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@Table(name = "accounts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_accounts_customer_id", columnNames = "customer_id")
+}, indexes = @Index(name = "idx_accounts_account_type", columnList = "account_type, customer_id"))
+// dirty checking writes only the columns that changed
+@DynamicUpdate
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
 public class Accounts extends BaseEntity{
 
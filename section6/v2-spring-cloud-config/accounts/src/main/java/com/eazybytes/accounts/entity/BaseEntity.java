@@ -3,6 +3,7 @@ package com.eazybytes.accounts.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -35,4 +36,8 @@ public class BaseEntity {
     @Column(insertable = false)
     private String updatedBy;
 
+    // bumped by every update through the entity, the ETag of a conditional GET is built from it
+    @Version
+    private Long version;
+
 }
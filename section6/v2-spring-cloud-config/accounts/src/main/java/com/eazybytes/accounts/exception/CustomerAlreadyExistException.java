@@ -7,14 +7,13 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public class CustomerAlreadyExistException extends RuntimeException{
 
     /**
-     * Constructs a new runtime exception with the specified detail message.
-     * The cause is not initialized, and may subsequently be initialized by a
-     * call to {@link #initCause}.
+     * Constructs a new runtime exception with the specified detail message,
+     * without a stack trace and without suppressed exceptions.
      *
      * @param message the detail message. The detail message is saved for
      *                later retrieval by the {@link #getMessage()} method.
      */
     public CustomerAlreadyExistException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
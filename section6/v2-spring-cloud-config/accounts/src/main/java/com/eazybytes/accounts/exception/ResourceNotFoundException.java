@@ -13,7 +13,8 @@ public class ResourceNotFoundException extends RuntimeException{
      * @param fieldValue
      */
     public ResourceNotFoundException(String resourceName, String fieldName, String fieldValue) {
-        // %s replaced by resourceName,fieldName,fieldValue and so on..
-        super(String.format("%s not found with the given input data %s: '%s'",resourceName,fieldName,fieldValue));
+        // same text as "%s not found with the given input data %s: '%s'"
+        super(resourceName + " not found with the given input data " + fieldName + ": '" + fieldValue + "'",
+                null, false, false);
     }
 }
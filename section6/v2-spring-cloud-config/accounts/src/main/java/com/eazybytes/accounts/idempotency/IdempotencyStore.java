@@ -0,0 +1,169 @@
+package com.eazybytes.accounts.idempotency;
+
+import com.eazybytes.accounts.exception.IdempotencyConflictException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Outcomes of requests sent with an Idempotency-Key header, so that a client
+ * retrying after a timeout gets the original answer instead of a second execution.
+ * <p>
+ * The first request with a key runs and its outcome is kept, bounded in number and
+ * for a limited time. Repeats replay the kept response, marked with an
+ * Idempotent-Replayed header; repeats arriving while the first one still runs wait
+ * for it instead of reaching the database. Client errors (exceptions with a 4xx
+ * {@link ResponseStatus}) are kept and rethrown like responses, any other failure is
+ * forgotten so the next retry runs again, including Errors, which are not handled
+ * by the action's caller. A key reused for a different request is rejected. Keys are
+ * scoped to the method and path of the request, the same key sent to another
+ * endpoint never replays this one's response.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final Cache<String, Execution> executions;
+    private final Duration waitTimeout;
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+    private final Counter conflictCounter;
+
+    public IdempotencyStore(@Value("${idempotency.maximum-size}") long maximumSize,
+                            @Value("${idempotency.expire-after}") Duration expireAfter,
+                            @Value("${idempotency.wait-timeout}") Duration waitTimeout,
+                            MeterRegistry meterRegistry) {
+        this.executions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfter)
+                .build();
+        this.waitTimeout = waitTimeout;
+        this.executedCounter = counter(meterRegistry, "executed");
+        this.replayedCounter = counter(meterRegistry, "replayed");
+        this.conflictCounter = counter(meterRegistry, "conflict");
+    }
+
+    /**
+     * @param idempotencyKey - Value of the Idempotency-Key header, null to just run the action
+     * @param request        - What the request asks for, compared by equals with the request
+     *                       that first used the key
+     * @param action         - Runs the request
+     * @return the response of the action, or of the first request with the same key
+     */
+    public <T> ResponseEntity<T> execute(String idempotencyKey, Object request, Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        String scopedKey = scoped(idempotencyKey);
+        Execution started = new Execution(request);
+        Execution execution = executions.asMap().putIfAbsent(scopedKey, started);
+        if (execution == null) {
+            executedCounter.increment();
+            return run(scopedKey, started, action);
+        }
+        if (!Objects.equals(execution.request, request)) {
+            conflictCounter.increment();
+            throw new IdempotencyConflictException(idempotencyKey, "was already used for a different request");
+        }
+        replayedCounter.increment();
+        return replay(idempotencyKey, execution);
+    }
+
+    private <T> ResponseEntity<T> run(String scopedKey, Execution execution, Supplier<ResponseEntity<T>> action) {
+        try {
+            ResponseEntity<T> response = action.get();
+            execution.outcome.complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            if (!isClientError(ex)) {
+                executions.asMap().remove(scopedKey, execution);
+            }
+            execution.outcome.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            // an Error or sneaky checked exception, never leave the key "still being processed"
+            if (!execution.outcome.isDone()) {
+                executions.asMap().remove(scopedKey, execution);
+                execution.outcome.completeExceptionally(new IllegalStateException("Request failed, retry it"));
+            }
+        }
+    }
+
+    /**
+     * @return the key prefixed with the method and path of the current request
+     */
+    private static String scoped(String idempotencyKey) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            return request.getMethod() + " " + request.getRequestURI() + " " + idempotencyKey;
+        }
+        return idempotencyKey;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(String idempotencyKey, Execution execution) {
+        ResponseEntity<?> response;
+        try {
+            response = execution.outcome.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            conflictCounter.increment();
+            throw new IdempotencyConflictException(idempotencyKey, "is still being processed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException(idempotencyKey, "is still being processed");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>((T) response.getBody(), headers, response.getStatusCode());
+    }
+
+    private static boolean isClientError(RuntimeException ex) {
+        ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(ex.getClass(), ResponseStatus.class);
+        return responseStatus != null && responseStatus.code().is4xxClientError();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("idempotency.requests")
+                .description("Requests with an Idempotency-Key header by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The request that first used a key and its outcome, completed once it ran.
+     */
+    private static final class Execution {
+
+        private final Object request;
+        private final CompletableFuture<ResponseEntity<?>> outcome = new CompletableFuture<>();
+
+        private Execution(Object request) {
+            this.request = request;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.eazybytes.accounts.mapper;
 
 import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.AccountsPatchDto;
 import com.eazybytes.accounts.entity.Accounts;
 
 public class AccountsMapper {
@@ -19,4 +20,14 @@ public class AccountsMapper {
         return accounts;
     }
 
+    public static Accounts patchAccounts(AccountsPatchDto accountsPatchDto, Accounts accounts) {
+        if (accountsPatchDto.getAccountType() != null) {
+            accounts.setAccountType(accountsPatchDto.getAccountType());
+        }
+        if (accountsPatchDto.getBranchAddress() != null) {
+            accounts.setBranchAddress(accountsPatchDto.getBranchAddress());
+        }
+        return accounts;
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.eazybytes.accounts.mapper;
 
 import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerPatchDto;
 import com.eazybytes.accounts.entity.Customer;
 
 public class CustomerMapper {
@@ -19,4 +20,17 @@ public class CustomerMapper {
         return customer;
     }
 
+    public static Customer patchCustomer(CustomerPatchDto customerPatchDto, Customer customer) {
+        if (customerPatchDto.getName() != null) {
+            customer.setName(customerPatchDto.getName());
+        }
+        if (customerPatchDto.getEmail() != null) {
+            customer.setEmail(customerPatchDto.getEmail());
+        }
+        if (customerPatchDto.getMobileNumber() != null) {
+            customer.setMobileNumber(customerPatchDto.getMobileNumber());
+        }
+        return customer;
+    }
+
 }
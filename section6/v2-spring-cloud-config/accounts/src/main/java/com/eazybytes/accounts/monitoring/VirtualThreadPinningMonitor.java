@@ -0,0 +1,108 @@
+package com.eazybytes.accounts.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads pinned to their carrier, which happens when they block
+ * inside a synchronized block or a native frame. The JDBC driver, the connection
+ * pool and Hibernate are the usual suspects, so every pinning longer than the
+ * threshold is timed in jvm.threads.virtual.pinned, tagged with the layer it
+ * happened in, and the first stack of each blocking frame is logged.
+ * Only active when spring.threads.virtual.enabled is set on Java 21 or later.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    // first matching package prefix names the layer that pinned the carrier
+    private static final Map<String, String> LAYERS = Map.of(
+            "org.h2.", "jdbc",
+            "com.zaxxer.hikari.", "pool",
+            "org.hibernate.", "hibernate",
+            "com.eazybytes.", "application");
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> reportedFrames = ConcurrentHashMap.newKeySet();
+    private volatile RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        recordingStream = stream;
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream stream = recordingStream;
+        recordingStream = null;
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String layer = "other";
+        String frame = "unknown";
+        if (stackTrace != null) {
+            for (RecordedFrame recordedFrame : stackTrace.getFrames()) {
+                if (!recordedFrame.isJavaFrame()) {
+                    continue;
+                }
+                String className = recordedFrame.getMethod().getType().getName();
+                String match = LAYERS.entrySet().stream()
+                        .filter(entry -> className.startsWith(entry.getKey()))
+                        .map(Map.Entry::getValue)
+                        .findFirst().orElse(null);
+                if (match != null) {
+                    layer = match;
+                    frame = className + "." + recordedFrame.getMethod().getName();
+                    break;
+                }
+            }
+        }
+        Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads stayed pinned to their carrier thread")
+                .tag("layer", layer)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        if (reportedFrames.add(frame)) {
+            logger.warn("Virtual thread pinned for {} ms in {} ({}):\n{}",
+                    event.getDuration().toMillis(), frame, layer, stackTrace);
+        }
+    }
+}
@@ -4,8 +4,11 @@ import com.eazybytes.accounts.entity.Accounts;
 import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -13,8 +16,21 @@ public interface AccountsRepository extends JpaRepository<Accounts, Long> {
 
     Optional<Accounts> findByCustomerId(Long customerId);
 
+    // the account alone in one SELECT, without loading the customer first
+    @Query("SELECT a FROM Accounts a WHERE a.customerId = " +
+            "(SELECT c.customerId FROM Customer c WHERE c.mobileNumber = :mobileNumber)")
+    Optional<Accounts> findByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
     // if there is error happen, please roll-back the transaction
+    // one DELETE statement, a derived delete would load and remove each entity
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Accounts a WHERE a.customerId = :customerId")
+    void deleteByCustomerId(@Param("customerId") Long customerId);
+
     @Transactional
     @Modifying
-    void deleteByCustomerId(Long customerId);
+    @Query("DELETE FROM Accounts a WHERE a.customerId IN " +
+            "(SELECT c.customerId FROM Customer c WHERE c.mobileNumber IN :mobileNumbers)")
+    int deleteByMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
 }
@@ -1,13 +1,52 @@
 package com.eazybytes.accounts.repository;
 
+import com.eazybytes.accounts.conditional.VersionedCustomer;
+import com.eazybytes.accounts.dto.CustomerDto;
 import com.eazybytes.accounts.entity.Customer;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     Optional<Customer> findByMobileNumber(String mobileNumber);
+
+    // one joined SELECT straight into the response DTO, nothing enters the persistence context
+    @Query("SELECT new com.eazybytes.accounts.dto.CustomerDto(c.name, c.email, c.mobileNumber, " +
+            "a.accountNumber, a.accountType, a.branchAddress) " +
+            "FROM Customer c JOIN Accounts a ON a.customerId = c.customerId " +
+            "WHERE c.mobileNumber = :mobileNumber")
+    Optional<CustomerDto> findCustomerDtoByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
+    // the same row with the ids, versions and audit timestamps behind the ETag and Last-Modified
+    @Query("SELECT new com.eazybytes.accounts.conditional.VersionedCustomer(c.name, c.email, c.mobileNumber, " +
+            "a.accountNumber, a.accountType, a.branchAddress, c.customerId, c.version, a.version, " +
+            "c.createdAt, c.updatedAt, a.createdAt, a.updatedAt) " +
+            "FROM Customer c JOIN Accounts a ON a.customerId = c.customerId " +
+            "WHERE c.mobileNumber = :mobileNumber")
+    Optional<VersionedCustomer> findVersionedCustomerByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
+    @Query("SELECT new com.eazybytes.accounts.dto.CustomerDto(c.name, c.email, c.mobileNumber, " +
+            "a.accountNumber, a.accountType, a.branchAddress) " +
+            "FROM Customer c JOIN Accounts a ON a.customerId = c.customerId " +
+            "WHERE c.mobileNumber IN :mobileNumbers")
+    List<CustomerDto> findCustomerDtosByMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    // only the mobile numbers, one IN query per bulk chunk instead of one lookup per customer
+    @Query("SELECT c.mobileNumber FROM Customer c WHERE c.mobileNumber IN :mobileNumbers")
+    List<String> findExistingMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    // one DELETE statement, nothing is loaded into the persistence context first
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Customer c WHERE c.mobileNumber IN :mobileNumbers")
+    int deleteByMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
 }
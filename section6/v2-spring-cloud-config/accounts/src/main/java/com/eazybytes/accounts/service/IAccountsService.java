@@ -1,6 +1,16 @@
 package com.eazybytes.accounts.service;
 
+import com.eazybytes.accounts.conditional.VersionedCustomer;
+import com.eazybytes.accounts.dto.BulkItemResponseDto;
 import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerPageDto;
+import com.eazybytes.accounts.dto.CustomerPatchDto;
+import com.eazybytes.accounts.dto.DeleteBatchResponseDto;
+import com.eazybytes.accounts.dto.FetchBatchResponseDto;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface IAccountsService {
 
@@ -10,21 +20,65 @@ public interface IAccountsService {
      */
     void createAccount(CustomerDto customerDto);
 
+    /**
+     * @param customerDtos - Customers to onboard, consumed chunk by chunk
+     * @param sink - Receives the outcome of each customer, in request order, as soon as its chunk is done
+     */
+    void createAccounts(Iterator<CustomerDto> customerDtos, Consumer<BulkItemResponseDto> sink);
+
     /**
      * @param mobileNumber
      * @return Account Details based on a given mobile number
      */
     CustomerDto fetchAccount(String mobileNumber);
 
+    /**
+     * @param mobileNumber - Input mobile Number
+     * @return Account Details of the mobile number with their ETag and Last-Modified, read from one row
+     */
+    VersionedCustomer fetchVersionedAccount(String mobileNumber);
+
+    /**
+     * @param mobileNumbers - Mobile numbers to look up, duplicates are fetched once
+     * @return Account Details of the mobile numbers found, and the ones not found
+     */
+    FetchBatchResponseDto fetchAccounts(List<String> mobileNumbers);
+
+    /**
+     * @param sink - Receives every Customer & Account, in customer id order
+     */
+    void exportAccounts(Consumer<CustomerDto> sink);
+
+    /**
+     * @param accountType - Only list customers with this type of account, null for all
+     * @param pageToken - Token of the previous page, null for the first page
+     * @param pageSize - Maximum number of customers on the page
+     * @return Account Details of the page, in customer id order
+     */
+    CustomerPageDto listAccounts(String accountType, String pageToken, int pageSize);
+
     /**
      * @param customerDto
      * @return boolean indicating if the update of Account details is successful or not
      */
     boolean updateAccount(CustomerDto customerDto);
 
+    /**
+     * @param mobileNumber - Current mobile number of the customer
+     * @param customerPatchDto - Customer and Account fields to change, null fields are left as they are
+     * @return boolean indicating if the update of Account details is successful or not
+     */
+    boolean patchAccount(String mobileNumber, CustomerPatchDto customerPatchDto);
+
     /**
      * @param mobileNumber
      * @return boolean indicating if the delete of Account details is successful or not
      */
     boolean deleteAccount(String mobileNumber);
+
+    /**
+     * @param mobileNumbers - Mobile numbers of the customers to offboard
+     * @return number of customers deleted and the mobile numbers without a customer
+     */
+    DeleteBatchResponseDto deleteAccounts(List<String> mobileNumbers);
 }
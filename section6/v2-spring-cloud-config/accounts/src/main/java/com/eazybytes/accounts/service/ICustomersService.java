@@ -0,0 +1,12 @@
+package com.eazybytes.accounts.service;
+
+import com.eazybytes.accounts.dto.CustomerDetailsDto;
+
+public interface ICustomersService {
+
+    /**
+     * @param mobileNumber - Input Mobile Number
+     * @return Customer, Account, Cards and Loans Details based on a given mobileNumber
+     */
+    CustomerDetailsDto fetchCustomerDetails(String mobileNumber);
+}
@@ -0,0 +1,32 @@
+package com.eazybytes.accounts.service.client;
+
+import com.eazybytes.accounts.dto.CardsDto;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+@Component
+public class CardsClient {
+
+    private final RestClient cardsRestClient;
+
+    public CardsClient(@Qualifier("cardsRestClient") RestClient cardsRestClient) {
+        this.cardsRestClient = cardsRestClient;
+    }
+
+    /**
+     * @param mobileNumber - Input Mobile Number
+     * @return Card Details based on a given mobileNumber, null if the customer has no card
+     */
+    public CardsDto fetchCardDetails(String mobileNumber) {
+        try {
+            return cardsRestClient.get()
+                    .uri("/api/fetch?mobileNumber={mobileNumber}", mobileNumber)
+                    .retrieve()
+                    .body(CardsDto.class);
+        } catch (HttpClientErrorException.NotFound ex) {
+            return null;
+        }
+    }
+}
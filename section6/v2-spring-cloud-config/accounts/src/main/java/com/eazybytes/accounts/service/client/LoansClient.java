@@ -0,0 +1,32 @@
+package com.eazybytes.accounts.service.client;
+
+import com.eazybytes.accounts.dto.LoansDto;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+@Component
+public class LoansClient {
+
+    private final RestClient loansRestClient;
+
+    public LoansClient(@Qualifier("loansRestClient") RestClient loansRestClient) {
+        this.loansRestClient = loansRestClient;
+    }
+
+    /**
+     * @param mobileNumber - Input Mobile Number
+     * @return Loan Details based on a given mobileNumber, null if the customer has no loan
+     */
+    public LoansDto fetchLoanDetails(String mobileNumber) {
+        try {
+            return loansRestClient.get()
+                    .uri("/api/fetch?mobileNumber={mobileNumber}", mobileNumber)
+                    .retrieve()
+                    .body(LoansDto.class);
+        } catch (HttpClientErrorException.NotFound ex) {
+            return null;
+        }
+    }
+}
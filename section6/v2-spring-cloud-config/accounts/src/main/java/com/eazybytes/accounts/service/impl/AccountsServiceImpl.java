@@ -1,22 +1,55 @@
 package com.eazybytes.accounts.service.impl;
 
+import com.eazybytes.allocator.NumberAllocator;
 import com.eazybytes.accounts.constants.AccountsConstants;
+import com.eazybytes.accounts.coalescing.SingleFlight;
+import com.eazybytes.accounts.conditional.VersionedCustomer;
 import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.BulkItemResponseDto;
 import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerPageDto;
+import com.eazybytes.accounts.dto.CustomerPatchDto;
+import com.eazybytes.accounts.dto.DeleteBatchResponseDto;
+import com.eazybytes.accounts.dto.FetchBatchResponseDto;
 import com.eazybytes.accounts.entity.Accounts;
 import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.exception.ConstraintViolations;
 import com.eazybytes.accounts.exception.CustomerAlreadyExistException;
 import com.eazybytes.accounts.exception.ResourceNotFoundException;
 import com.eazybytes.accounts.mapper.AccountsMapper;
 import com.eazybytes.accounts.mapper.CustomerMapper;
+import com.eazybytes.accounts.pagination.PageToken;
 import com.eazybytes.accounts.repository.AccountsRepository;
 import com.eazybytes.accounts.repository.CustomerRepository;
 import com.eazybytes.accounts.service.IAccountsService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Optional;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -24,21 +57,144 @@ public class AccountsServiceImpl implements IAccountsService {
 
     private AccountsRepository accountsRepository;
     private CustomerRepository customerRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private Validator validator;
+    private NumberAllocator numberAllocator;
+    private CacheManager cacheManager;
+    private JdbcTemplate jdbcTemplate;
+    private SingleFlight singleFlight;
 
     /**
      * @param customerDto
      */
     @Override
+    @Transactional
     public void createAccount(CustomerDto customerDto) {
         Customer customer = CustomerMapper.mapToCustomer(customerDto, new Customer());
-        Optional<Customer> optionalCustomer = customerRepository.findByMobileNumber(customerDto.getMobileNumber());
-        if(optionalCustomer.isPresent()){
-            throw new CustomerAlreadyExistException("Customer already registered with given mobile number " + customerDto.getMobileNumber());
-        }
 //        customer.setCreatedAt(LocalDateTime.now());
 //        customer.setCreatedBy("Anonymous");
-        Customer savedCustomer = customerRepository.save(customer);
-        accountsRepository.save(createNewAccount(savedCustomer));
+        // uk_customer_mobile_number rejects a duplicate even when two requests race, no lookup needed first
+        try {
+            customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException ex) {
+            if (!ConstraintViolations.violates(ex, AccountsConstants.CUSTOMER_MOBILE_NUMBER_CONSTRAINT)) {
+                throw ex;
+            }
+            throw new CustomerAlreadyExistException("Customer already registered with given mobile number " + customerDto.getMobileNumber());
+        }
+        entityManager.persist(createNewAccount(customer));
+    }
+
+    /**
+     * @param customerDtos - Customers to onboard, consumed chunk by chunk
+     * @param sink - Receives the outcome of each customer, in request order, as soon as its chunk is done
+     */
+    @Override
+    public void createAccounts(Iterator<CustomerDto> customerDtos, Consumer<BulkItemResponseDto> sink) {
+        int offset = 0;
+        Set<String> seenMobileNumbers = new HashSet<>();
+        List<CustomerDto> chunk = new ArrayList<>(AccountsConstants.BULK_CHUNK_SIZE);
+        while (customerDtos.hasNext()) {
+            chunk.add(customerDtos.next());
+            if (chunk.size() == AccountsConstants.BULK_CHUNK_SIZE) {
+                createChunk(chunk, offset, seenMobileNumbers).forEach(sink);
+                offset += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            createChunk(chunk, offset, seenMobileNumbers).forEach(sink);
+        }
+    }
+
+    /**
+     * Persists one chunk inside a single transaction so the inserts go out as JDBC batches.
+     * If the chunk fails as a whole, every customer is retried in its own transaction
+     * so that one bad row does not fail its neighbours. Each transaction ends by clearing
+     * the EntityManager: with open-in-view every chunk of the request shares it, and the
+     * persisted customers and accounts would otherwise stay managed until the request ends.
+     *
+     * @param chunk - Customers of this chunk
+     * @param offset - Index of the first customer of this chunk in the whole request
+     * @param seenMobileNumbers - Mobile numbers already accepted earlier in the request
+     * @return the outcome of each customer of this chunk
+     */
+    private List<BulkItemResponseDto> createChunk(List<CustomerDto> chunk, int offset, Set<String> seenMobileNumbers) {
+        BulkItemResponseDto[] results = new BulkItemResponseDto[chunk.size()];
+        Map<Integer, CustomerDto> pending = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            CustomerDto customerDto = chunk.get(i);
+            Set<ConstraintViolation<CustomerDto>> violations = validator.validate(customerDto);
+            if (!violations.isEmpty()) {
+                String errorMsg = violations.stream().map(ConstraintViolation::getMessage).sorted()
+                        .collect(Collectors.joining("; "));
+                results[i] = bulkItem(offset + i, customerDto, AccountsConstants.STATUS_400, errorMsg);
+            } else if (!seenMobileNumbers.add(customerDto.getMobileNumber())) {
+                results[i] = bulkItem(offset + i, customerDto, AccountsConstants.STATUS_400, AccountsConstants.MESSAGE_400_EXISTS);
+            } else {
+                pending.put(i, customerDto);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            Set<String> existingMobileNumbers = new HashSet<>(customerRepository.findExistingMobileNumbers(
+                    pending.values().stream().map(CustomerDto::getMobileNumber).toList()));
+            pending.entrySet().removeIf(entry -> {
+                if (existingMobileNumbers.contains(entry.getValue().getMobileNumber())) {
+                    results[entry.getKey()] = bulkItem(offset + entry.getKey(), entry.getValue(),
+                            AccountsConstants.STATUS_400, AccountsConstants.MESSAGE_400_EXISTS);
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        if (!pending.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    pending.values().forEach(this::persistNewAccount);
+                    flushAndClear();
+                });
+                pending.forEach((i, customerDto) -> results[i] = bulkItem(offset + i, customerDto,
+                        AccountsConstants.STATUS_201, AccountsConstants.MESSAGE_201));
+            } catch (RuntimeException chunkException) {
+                pending.forEach((i, customerDto) -> {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            persistNewAccount(customerDto);
+                            flushAndClear();
+                        });
+                        results[i] = bulkItem(offset + i, customerDto, AccountsConstants.STATUS_201, AccountsConstants.MESSAGE_201);
+                    } catch (RuntimeException itemException) {
+                        results[i] = ConstraintViolations.violates(itemException, AccountsConstants.CUSTOMER_MOBILE_NUMBER_CONSTRAINT)
+                                ? bulkItem(offset + i, customerDto, AccountsConstants.STATUS_400, AccountsConstants.MESSAGE_400_EXISTS)
+                                : bulkItem(offset + i, customerDto, AccountsConstants.STATUS_500, itemException.getMessage());
+                    }
+                });
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * persist instead of save, save would merge the assigned account number and SELECT it first
+     *
+     * @param customerDto - CustomerDto Object
+     */
+    private void persistNewAccount(CustomerDto customerDto) {
+        Customer customer = CustomerMapper.mapToCustomer(customerDto, new Customer());
+        entityManager.persist(customer);
+        entityManager.persist(createNewAccount(customer));
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private BulkItemResponseDto bulkItem(int index, CustomerDto customerDto, String statusCode, String statusMsg) {
+        return new BulkItemResponseDto(index, customerDto.getMobileNumber(), statusCode, statusMsg);
     }
 
     /**
@@ -48,9 +204,7 @@ public class AccountsServiceImpl implements IAccountsService {
     private Accounts createNewAccount(Customer customer) {
         Accounts newAccount = new Accounts();
         newAccount.setCustomerId(customer.getCustomerId());
-        long randomAccNumber = 1000000000L + new Random().nextInt(900000000);
-
-        newAccount.setAccountNumber(randomAccNumber);
+        newAccount.setAccountNumber(numberAllocator.next());
         newAccount.setAccountType(AccountsConstants.SAVINGS);
         newAccount.setBranchAddress(AccountsConstants.ADDRESS);
 //        newAccount.setCreatedAt(LocalDateTime.now());
@@ -64,22 +218,158 @@ public class AccountsServiceImpl implements IAccountsService {
      */
     @Override
     public CustomerDto fetchAccount(String mobileNumber) {
+        return fetchVersionedAccount(mobileNumber).customer();
+    }
 
-        Customer customer =
-        customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
-                () -> new ResourceNotFoundException("Customer","mobileNumber",mobileNumber)
-        );
+    /**
+     * Reads through the customers cache, whose entries hold the details together with
+     * their version, so a 304 and a 200 are always answered from the same row.
+     *
+     * @param mobileNumber - Input mobile Number
+     * @return Account Details of the mobile number with their ETag and Last-Modified
+     */
+    @Override
+    public VersionedCustomer fetchVersionedAccount(String mobileNumber) {
+        Cache customersCache = cacheManager.getCache(AccountsConstants.CUSTOMERS_CACHE);
+        if (customersCache == null) {
+            return loadVersionedAccount(mobileNumber);
+        }
+        try {
+            // the loader form is what @Cacheable(sync = true) uses: concurrent misses on one
+            // mobile number wait for a single database read
+            return customersCache.get(mobileNumber, () -> loadVersionedAccount(mobileNumber));
+        } catch (Cache.ValueRetrievalException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
 
-        Accounts accounts =
-                accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow(
-                        () -> new ResourceNotFoundException("Account","customerId",customer.getCustomerId().toString())
-                );
+    private VersionedCustomer loadVersionedAccount(String mobileNumber) {
+        // every customer is created together with its account, so no row means no customer;
+        // the cache already serializes loads of one key, SingleFlight covers running without it
+        return singleFlight.execute("fetchAccount", mobileNumber,
+                () -> customerRepository.findVersionedCustomerByMobileNumber(mobileNumber).orElseThrow(
+                        () -> new ResourceNotFoundException("Customer","mobileNumber",mobileNumber)
+                ));
+    }
 
-        CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customer,new CustomerDto());
+    /**
+     * Serves what it can from the customers cache and resolves the rest with
+     * IN list queries of at most FETCH_BATCH_IN_LIST_SIZE mobile numbers each.
+     * The rows read here are not put into the cache: only fetchAccount fills it, under
+     * the cache's sync and the after-commit eviction, and a batch read that raced an
+     * update would otherwise write the old row back after its eviction.
+     *
+     * @param mobileNumbers - Mobile numbers to look up, duplicates are fetched once
+     * @return Account Details of the mobile numbers found, and the ones not found
+     */
+    @Override
+    public FetchBatchResponseDto fetchAccounts(List<String> mobileNumbers) {
+        Set<String> uniqueMobileNumbers = new LinkedHashSet<>(mobileNumbers);
+        Map<String, CustomerDto> customerDtos = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        Cache customersCache = cacheManager.getCache(AccountsConstants.CUSTOMERS_CACHE);
+        for (String mobileNumber : uniqueMobileNumbers) {
+            VersionedCustomer cached = customersCache != null ? customersCache.get(mobileNumber, VersionedCustomer.class) : null;
+            if (cached != null) {
+                customerDtos.put(mobileNumber, cached.customer());
+            } else {
+                misses.add(mobileNumber);
+            }
+        }
+
+        for (int from = 0; from < misses.size(); from += AccountsConstants.FETCH_BATCH_IN_LIST_SIZE) {
+            List<String> inList = misses.subList(from, Math.min(from + AccountsConstants.FETCH_BATCH_IN_LIST_SIZE, misses.size()));
+            for (CustomerDto customerDto : customerRepository.findCustomerDtosByMobileNumbers(inList)) {
+                customerDtos.put(customerDto.getMobileNumber(), customerDto);
+            }
+        }
+
+        List<CustomerDto> found = new ArrayList<>(customerDtos.size());
+        List<String> notFound = new ArrayList<>();
+        for (String mobileNumber : uniqueMobileNumbers) {
+            CustomerDto customerDto = customerDtos.get(mobileNumber);
+            if (customerDto != null) {
+                found.add(customerDto);
+            } else {
+                notFound.add(mobileNumber);
+            }
+        }
+        return new FetchBatchResponseDto(found, notFound);
+    }
+
+    /**
+     * Walks customer joined with accounts in keyset pages of EXPORT_PAGE_SIZE rows.
+     * Plain JDBC keeps each page out of any persistence context and every page
+     * is a fresh index seek, so memory and page cost stay flat with table size.
+     *
+     * @param sink - Receives every Customer & Account, in customer id order
+     */
+    @Override
+    public void exportAccounts(Consumer<CustomerDto> sink) {
+        long[] lastCustomerId = {0L};
+        int[] pageRows = new int[1];
+        do {
+            pageRows[0] = 0;
+            queryCustomerPage(lastCustomerId[0], null, AccountsConstants.EXPORT_PAGE_SIZE, (customerDto, customerId) -> {
+                lastCustomerId[0] = customerId;
+                pageRows[0]++;
+                sink.accept(customerDto);
+            });
+        } while (pageRows[0] == AccountsConstants.EXPORT_PAGE_SIZE);
+    }
 
-        customerDto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
+    /**
+     * Same keyset walk as the export, one page per call.
+     *
+     * @param accountType - Only list customers with this type of account, null for all
+     * @param pageToken - Token of the previous page, null for the first page
+     * @param pageSize - Maximum number of customers on the page
+     * @return Account Details of the page, in customer id order
+     */
+    @Override
+    public CustomerPageDto listAccounts(String accountType, String pageToken, int pageSize) {
+        List<CustomerDto> customerDtos = new ArrayList<>(pageSize);
+        long[] lastCustomerId = {0L};
+        boolean[] hasNextPage = {false};
+        // one extra row tells whether another page follows
+        queryCustomerPage(PageToken.decode(pageToken), accountType, pageSize + 1, (customerDto, customerId) -> {
+            if (customerDtos.size() < pageSize) {
+                customerDtos.add(customerDto);
+                lastCustomerId[0] = customerId;
+            } else {
+                hasNextPage[0] = true;
+            }
+        });
+        return new CustomerPageDto(customerDtos, hasNextPage[0] ? PageToken.encode(lastCustomerId[0]) : null);
+    }
 
-        return customerDto;
+    /**
+     * @param afterCustomerId - Only customers with a greater id, 0 for the first page
+     * @param accountType - Only customers with this type of account, null for all
+     * @param limit - Maximum number of rows
+     * @param sink - Receives each row with its customer id, in customer id order
+     */
+    private void queryCustomerPage(long afterCustomerId, String accountType, int limit,
+                                   ObjLongConsumer<CustomerDto> sink) {
+        // seeks on the customer primary key, or on idx_accounts_account_type when filtered
+        String sql = "SELECT c.customer_id, c.name, c.email, c.mobile_number, " +
+                "a.account_number, a.account_type, a.branch_address " +
+                "FROM customer c JOIN accounts a ON a.customer_id = c.customer_id " +
+                "WHERE c.customer_id > ? " +
+                (accountType == null ? "" : "AND a.account_type = ? AND a.customer_id > ? ") +
+                "ORDER BY c.customer_id LIMIT ?";
+        Object[] args = accountType == null
+                ? new Object[]{afterCustomerId, limit}
+                : new Object[]{afterCustomerId, accountType, afterCustomerId, limit};
+        jdbcTemplate.query(sql, rs -> {
+            sink.accept(new CustomerDto(rs.getString("name"), rs.getString("email"),
+                    rs.getString("mobile_number"), rs.getLong("account_number"),
+                    rs.getString("account_type"), rs.getString("branch_address")),
+                    rs.getLong("customer_id"));
+        }, args);
     }
 
     /**
@@ -87,41 +377,132 @@ public class AccountsServiceImpl implements IAccountsService {
      * @return boolean indicating if the update of Account details is successful or not
      */
     @Override
+    @Transactional
     public boolean updateAccount(CustomerDto customerDto) {
         boolean isUpdated = false;
         AccountsDto accountsDto = customerDto.getAccountsDto();
         if(accountsDto !=null ){
+            // both entities stay managed until commit, dirty checking writes only what changed
             Accounts accounts = accountsRepository.findById(accountsDto.getAccountNumber()).orElseThrow(
                     () -> new ResourceNotFoundException("Account", "AccountNumber", accountsDto.getAccountNumber().toString())
             );
             AccountsMapper.mapToAccounts(accountsDto, accounts);
-            accounts = accountsRepository.save(accounts);
 
             Long customerId = accounts.getCustomerId();
             Customer customer = customerRepository.findById(customerId).orElseThrow(
                     () -> new ResourceNotFoundException("Customer", "CustomerID", customerId.toString())
             );
+            // the update may change the mobile number, so evict under the old one as well as the new one
+            String oldMobileNumber = customer.getMobileNumber();
             CustomerMapper.mapToCustomer(customerDto,customer);
-            customerRepository.save(customer);
+            evictAfterCommit(List.of(oldMobileNumber, customerDto.getMobileNumber()));
             isUpdated = true;
         }
         return  isUpdated;
     }
 
+    /**
+     * Loads only the tables with fields to change, one SELECT each, and leaves the
+     * UPDATE to dirty checking, so an untouched table costs nothing and a touched
+     * one at most one UPDATE of the changed columns.
+     *
+     * @param mobileNumber - Current mobile number of the customer
+     * @param customerPatchDto - Customer and Account fields to change, null fields are left as they are
+     * @return boolean indicating if the update of Account details is successful or not
+     */
+    @Override
+    @Transactional
+    public boolean patchAccount(String mobileNumber, CustomerPatchDto customerPatchDto) {
+        // the account is looked up first, before a changed mobile number could be flushed
+        if (customerPatchDto.hasAccountChanges()) {
+            Accounts accounts = accountsRepository.findByMobileNumber(mobileNumber).orElseThrow(
+                    () -> new ResourceNotFoundException("Account", "mobileNumber", mobileNumber)
+            );
+            AccountsMapper.patchAccounts(customerPatchDto.getAccountsDto(), accounts);
+        }
+        if (customerPatchDto.hasCustomerChanges() || !customerPatchDto.hasAccountChanges()) {
+            Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
+                    () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
+            );
+            CustomerMapper.patchCustomer(customerPatchDto, customer);
+            if (!mobileNumber.equals(customer.getMobileNumber())) {
+                // surface a taken mobile number here rather than as a failed commit
+                try {
+                    customerRepository.flush();
+                } catch (DataIntegrityViolationException ex) {
+                    if (!ConstraintViolations.violates(ex, AccountsConstants.CUSTOMER_MOBILE_NUMBER_CONSTRAINT)) {
+                        throw ex;
+                    }
+                    throw new CustomerAlreadyExistException("Customer already registered with given mobile number "
+                            + customer.getMobileNumber());
+                }
+            }
+        }
+        evictAfterCommit(customerPatchDto.getMobileNumber() == null
+                ? List.of(mobileNumber) : List.of(mobileNumber, customerPatchDto.getMobileNumber()));
+        return true;
+    }
+
     /**
      * @param mobileNumber
      * @return boolean indicating if the delete of Account details is successful or not
      */
     @Override
+    @Transactional
     public boolean deleteAccount(String mobileNumber) {
+        List<String> mobileNumbers = List.of(mobileNumber);
+        accountsRepository.deleteByMobileNumbers(mobileNumbers);
+        if (customerRepository.deleteByMobileNumbers(mobileNumbers) == 0) {
+            throw new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber);
+        }
+        evictAfterCommit(mobileNumbers);
+        return true;
+    }
 
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
-                () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
-        );
+    /**
+     * One SELECT and one DELETE per table for every DELETE_BATCH_IN_LIST_SIZE mobile numbers,
+     * all in one transaction.
+     *
+     * @param mobileNumbers - Mobile numbers of the customers to offboard
+     * @return number of customers deleted and the mobile numbers without a customer
+     */
+    @Override
+    @Transactional
+    public DeleteBatchResponseDto deleteAccounts(List<String> mobileNumbers) {
+        List<String> uniqueMobileNumbers = new ArrayList<>(new LinkedHashSet<>(mobileNumbers));
+        Set<String> existingMobileNumbers = new HashSet<>();
+        int deleted = 0;
+        for (int from = 0; from < uniqueMobileNumbers.size(); from += AccountsConstants.DELETE_BATCH_IN_LIST_SIZE) {
+            List<String> inList = uniqueMobileNumbers.subList(from,
+                    Math.min(from + AccountsConstants.DELETE_BATCH_IN_LIST_SIZE, uniqueMobileNumbers.size()));
+            existingMobileNumbers.addAll(customerRepository.findExistingMobileNumbers(inList));
+            accountsRepository.deleteByMobileNumbers(inList);
+            deleted += customerRepository.deleteByMobileNumbers(inList);
+        }
+        evictAfterCommit(existingMobileNumbers);
+        List<String> notFound = uniqueMobileNumbers.stream()
+                .filter(mobileNumber -> !existingMobileNumbers.contains(mobileNumber))
+                .toList();
+        return new DeleteBatchResponseDto(deleted, notFound);
+    }
 
-        accountsRepository.deleteByCustomerId(customer.getCustomerId());
-        customerRepository.deleteById(customer.getCustomerId());
-        return true;
+    /**
+     * Evicting only once the transaction has committed keeps a concurrent fetch
+     * from caching the rows again while they are still visible.
+     *
+     * @param mobileNumbers - Cache keys to evict
+     */
+    private void evictAfterCommit(Collection<String> mobileNumbers) {
+        Cache customersCache = cacheManager.getCache(AccountsConstants.CUSTOMERS_CACHE);
+        if (customersCache == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                mobileNumbers.forEach(customersCache::evict);
+            }
+        });
     }
 
 
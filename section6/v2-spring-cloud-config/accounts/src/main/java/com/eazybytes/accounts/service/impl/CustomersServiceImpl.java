@@ -0,0 +1,147 @@
+package com.eazybytes.accounts.service.impl;
+
+import com.eazybytes.accounts.constants.AccountsConstants;
+import com.eazybytes.accounts.dto.CardsDto;
+import com.eazybytes.accounts.dto.CustomerDetailsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.LoansDto;
+import com.eazybytes.accounts.service.IAccountsService;
+import com.eazybytes.accounts.service.ICustomersService;
+import com.eazybytes.accounts.service.client.CardsClient;
+import com.eazybytes.accounts.service.client.LoansClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class CustomersServiceImpl implements ICustomersService, DisposableBean {
+
+    private final IAccountsService iAccountsService;
+    private final CardsClient cardsClient;
+    private final LoansClient loansClient;
+    private final AsyncTaskExecutor downstreamExecutor;
+    private final Duration deadline;
+
+    public CustomersServiceImpl(IAccountsService iAccountsService, CardsClient cardsClient, LoansClient loansClient,
+                                @Value("${downstream.max-concurrency:200}") int maxConcurrency,
+                                @Value("${downstream.deadline}") Duration deadline) {
+        this.iAccountsService = iAccountsService;
+        this.cardsClient = cardsClient;
+        this.loansClient = loansClient;
+        this.downstreamExecutor = downstreamExecutor(maxConcurrency);
+        this.deadline = deadline;
+    }
+
+    /**
+     * Not a bean, an Executor bean would make Boot drop its applicationTaskExecutor.
+     * The shared applicationTaskExecutor isn't used either: without virtual threads it is
+     * 8 platform threads with an unbounded queue, and calls queued behind it miss the deadline.
+     *
+     * @param maxConcurrency - Downstream calls in flight at once before Java 21
+     * @return on Java 21 a virtual thread per call, before that a pool of maxConcurrency
+     * threads without a queue, so a call beyond it is rejected at once rather than queued
+     */
+    private static AsyncTaskExecutor downstreamExecutor(int maxConcurrency) {
+        if (JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            return new VirtualThreadTaskExecutor("downstream-");
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("downstream-");
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        if (downstreamExecutor instanceof ThreadPoolTaskExecutor executor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Calls cards and loans concurrently while the account is read locally, then waits
+     * for both until one shared deadline. A service that fails or misses the deadline
+     * is left out and listed in unavailableServices, so the response takes as long as
+     * the slowest call, never longer than the deadline. Calls that miss the deadline,
+     * or whose answer isn't needed because there is no such customer, are cancelled.
+     *
+     * @param mobileNumber - Input Mobile Number
+     * @return Customer, Account, Cards and Loans Details based on a given mobileNumber
+     */
+    @Override
+    public CustomerDetailsDto fetchCustomerDetails(String mobileNumber) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        Future<CardsDto> cardsFuture = submit(() -> cardsClient.fetchCardDetails(mobileNumber));
+        Future<LoansDto> loansFuture = submit(() -> loansClient.fetchLoanDetails(mobileNumber));
+
+        CustomerDto customerDto;
+        try {
+            customerDto = iAccountsService.fetchAccount(mobileNumber);
+        } catch (RuntimeException ex) {
+            cardsFuture.cancel(true);
+            loansFuture.cancel(true);
+            throw ex;
+        }
+        CustomerDetailsDto customerDetailsDto = new CustomerDetailsDto();
+        customerDetailsDto.setName(customerDto.getName());
+        customerDetailsDto.setEmail(customerDto.getEmail());
+        customerDetailsDto.setMobileNumber(customerDto.getMobileNumber());
+        customerDetailsDto.setAccountsDto(customerDto.getAccountsDto());
+        customerDetailsDto.setCardsDto(await(cardsFuture, deadlineNanos, AccountsConstants.CARDS_SERVICE, customerDetailsDto));
+        customerDetailsDto.setLoansDto(await(loansFuture, deadlineNanos, AccountsConstants.LOANS_SERVICE, customerDetailsDto));
+        return customerDetailsDto;
+    }
+
+    /**
+     * @param call - Downstream call
+     * @return the pending call, failed already if the executor has no room for it
+     */
+    private <T> Future<T> submit(Callable<T> call) {
+        try {
+            return downstreamExecutor.submit(call);
+        } catch (TaskRejectedException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * @param future - Pending downstream call, cancelled if it misses the deadline
+     * @param deadlineNanos - System.nanoTime() by which the call must have answered
+     * @param serviceName - Name to report when the call fails or misses the deadline
+     * @param customerDetailsDto - Response collecting the unavailable services
+     * @return the downstream answer, null if it failed or missed the deadline
+     */
+    private <T> T await(Future<T> future, long deadlineNanos, String serviceName,
+                        CustomerDetailsDto customerDetailsDto) {
+        try {
+            return future.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException ex) {
+            // interrupts the blocked HTTP call, its thread is free for the next request
+            future.cancel(true);
+        } catch (ExecutionException ex) {
+            // reported through unavailableServices
+        }
+        customerDetailsDto.getUnavailableServices().add(serviceName);
+        return null;
+    }
+}
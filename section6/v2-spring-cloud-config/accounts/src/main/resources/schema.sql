@@ -1,21 +1,33 @@
+CREATE SEQUENCE IF NOT EXISTS `customer_seq` START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS `customer` (
-  `customer_id` int AUTO_INCREMENT  PRIMARY KEY,
+  `customer_id` bigint PRIMARY KEY,
   `name` varchar(100) NOT NULL,
   `email` varchar(100) NOT NULL,
   `mobile_number` varchar(20) NOT NULL,
-  `created_at` date NOT NULL,
+  `created_at` timestamp NOT NULL,
   `created_by` varchar(20) NOT NULL,
-  `updated_at` date DEFAULT NULL,
-    `updated_by` varchar(20) DEFAULT NULL
+  `updated_at` timestamp DEFAULT NULL,
+    `updated_by` varchar(20) DEFAULT NULL,
+    `version` bigint DEFAULT 0 NOT NULL,
+  CONSTRAINT `uk_customer_mobile_number` UNIQUE (`mobile_number`)
 );
 
+-- each call reserves a block of 1000 account numbers, see NumberAllocator
+CREATE SEQUENCE IF NOT EXISTS `account_number_seq` START WITH 1 INCREMENT BY 1000;
+
 CREATE TABLE IF NOT EXISTS `accounts` (
-  `customer_id` int NOT NULL,
-   `account_number` int AUTO_INCREMENT  PRIMARY KEY,
+  `customer_id` bigint NOT NULL,
+   `account_number` bigint PRIMARY KEY,
   `account_type` varchar(100) NOT NULL,
   `branch_address` varchar(200) NOT NULL,
-  `created_at` date NOT NULL,
+  `created_at` timestamp NOT NULL,
    `created_by` varchar(20) NOT NULL,
-   `updated_at` date DEFAULT NULL,
-    `updated_by` varchar(20) DEFAULT NULL
-);
\ No newline at end of file
+   `updated_at` timestamp DEFAULT NULL,
+    `updated_by` varchar(20) DEFAULT NULL,
+    `version` bigint DEFAULT 0 NOT NULL,
+  CONSTRAINT `uk_accounts_customer_id` UNIQUE (`customer_id`)
+);
+
+-- keyset listing filtered by account type seeks on (account_type, customer_id)
+CREATE INDEX IF NOT EXISTS `idx_accounts_account_type` ON `accounts` (`account_type`, `customer_id`);
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.eazybytes.accounts.conditional;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourceVersionTests {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 9, 30);
+
+    @Test
+    void givesTheSameTagForTheSameRows() {
+        assertEquals(version(1L, 0L, 0L, null, null), version(1L, 0L, 0L, null, null));
+    }
+
+    @Test
+    void movesTheTagWithEitherRowsVersion() {
+        ResourceVersion created = version(1L, 0L, 0L, null, null);
+        assertNotEquals(created.eTag(), version(1L, 1L, 0L, null, null).eTag());
+        assertNotEquals(created.eTag(), version(1L, 0L, 1L, null, null).eTag());
+    }
+
+    @Test
+    void keepsTheVersionsOfTheTwoRowsApart() {
+        assertNotEquals(version(1L, 1L, 0L, null, null).eTag(), version(1L, 0L, 31L, null, null).eTag());
+        assertNotEquals(version(1L, 11L, 1L, null, null).eTag(), version(1L, 1L, 11L, null, null).eTag());
+    }
+
+    @Test
+    void movesTheTagWhenTheCustomerIsRecreated() {
+        assertNotEquals(version(1L, 0L, 0L, null, null).eTag(), version(51L, 0L, 0L, null, null).eTag());
+    }
+
+    @Test
+    void givesAQuotedStrongTag() {
+        String eTag = version(1L, 0L, 0L, null, null).eTag();
+        assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""), eTag);
+    }
+
+    @Test
+    void takesLastModifiedFromTheNewestTimestampWithItsTimeOfDay() {
+        LocalDateTime morningUpdate = CREATED_AT.plusHours(1);
+        LocalDateTime eveningUpdate = CREATED_AT.plusHours(9);
+        assertEquals(epochMillis(morningUpdate), version(1L, 1L, 0L, morningUpdate, null).lastModified());
+        assertEquals(epochMillis(eveningUpdate), version(1L, 1L, 1L, morningUpdate, eveningUpdate).lastModified());
+        assertEquals(epochMillis(CREATED_AT), version(1L, 0L, 0L, null, null).lastModified());
+    }
+
+    @Test
+    void hasNoLastModifiedWithoutTimestamps() {
+        assertEquals(-1, new ResourceVersion(1L, 0L, 0L, null, null, null, null).lastModified());
+    }
+
+    private static ResourceVersion version(Long customerId, Long customerVersion, Long accountVersion,
+                                           LocalDateTime customerUpdatedAt, LocalDateTime accountUpdatedAt) {
+        return new ResourceVersion(customerId, customerVersion, accountVersion,
+                CREATED_AT, customerUpdatedAt, CREATED_AT, accountUpdatedAt);
+    }
+
+    private static long epochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
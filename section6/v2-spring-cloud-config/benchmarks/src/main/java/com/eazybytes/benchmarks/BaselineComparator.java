@@ -0,0 +1,171 @@
+package com.eazybytes.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with a stored baseline and exits with status 1
+ * when any benchmark got slower than the threshold allows, so a build can fail on
+ * it. Scores are compared as confidence intervals, score ± scoreError on both sides:
+ * a benchmark regresses only when its whole interval lies beyond the baseline's
+ * interval widened by the threshold, so run to run noise doesn't fail the build. The
+ * suites run three forks of ten iterations to keep those intervals narrow.
+ * Throughput must not drop, time must not rise. When both files were recorded with
+ * -prof gc the normalized allocation rate (bytes per operation) is held to the same rule.
+ * <pre>
+ *   java -jar target/benchmarks.jar "MapperBenchmark|ValidationBenchmark|JsonBenchmark" \
+ *       -prof gc -rf json -rff target/jmh-result.json
+ *   java -cp target/benchmarks.jar com.eazybytes.benchmarks.BaselineComparator \
+ *       target/jmh-result.json baseline/jmh-baseline.json 10
+ * </pre>
+ * Arguments: result file, baseline file, threshold in percent (default 10).
+ * Benchmarks missing from the baseline are reported but never fail the comparison.
+ * Benchmarks of the baseline missing from the result fail it, as do results recorded
+ * with other forks, iterations or JDK than the baseline. Record the baseline on the
+ * machine the comparison runs on, the CI runner, by copying an accepted result file to
+ * baseline/jmh-baseline.json; without one the comparison exits with status 2.
+ */
+public final class BaselineComparator {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    // run settings a result must share with the baseline to be comparable
+    private static final List<String> RUN_SETTINGS = List.of(
+            "forks", "warmupIterations", "warmupTime", "measurementIterations", "measurementTime", "jdkVersion", "vmName");
+
+    private BaselineComparator() {
+        // restrict instantiation
+    }
+
+    public static void main(String[] args) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        File baselineFile = new File(args[1]);
+        if (!baselineFile.isFile()) {
+            System.out.printf("no baseline at %s, record one on this machine: cp %s %s%n", args[1], args[0], args[1]);
+            System.exit(2);
+        }
+        Map<String, JsonNode> results = index(objectMapper.readTree(new File(args[0])));
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(baselineFile));
+        double threshold = (args.length > 2 ? Double.parseDouble(args[2]) : 10) / 100;
+
+        int failures = 0;
+        System.out.printf("%-60s %22s %22s %9s%n", "benchmark", "baseline", "result", "change");
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode result = entry.getValue();
+            JsonNode expected = baseline.get(entry.getKey());
+            if (expected == null) {
+                System.out.printf("%-60s %22s %22s %9s%n", entry.getKey(), "-",
+                        interval(result.at("/primaryMetric")), "new");
+                continue;
+            }
+            String settings = differentSettings(expected, result);
+            if (settings != null) {
+                System.out.printf("%-60s run with other %s than the baseline  INCOMPARABLE%n", entry.getKey(), settings);
+                failures++;
+                continue;
+            }
+            boolean higherIsBetter = "thrpt".equals(result.get("mode").asText());
+            if (compare(entry.getKey(), expected.at("/primaryMetric"), result.at("/primaryMetric"),
+                    higherIsBetter, threshold)) {
+                failures++;
+            }
+            JsonNode expectedAllocation = expected.at("/secondaryMetrics/" + ALLOCATION_METRIC);
+            JsonNode allocation = result.at("/secondaryMetrics/" + ALLOCATION_METRIC);
+            if (!expectedAllocation.isMissingNode() && !allocation.isMissingNode()
+                    && compare(entry.getKey() + " [B/op]", expectedAllocation, allocation, false, threshold)) {
+                failures++;
+            }
+        }
+        for (String name : baseline.keySet()) {
+            if (!results.containsKey(name)) {
+                System.out.printf("%-60s %22s %22s %9s%n", name, interval(baseline.get(name).at("/primaryMetric")),
+                        "-", "MISSING");
+                failures++;
+            }
+        }
+
+        if (failures > 0) {
+            System.out.printf("%d regression(s) beyond %.0f%% or missing/incomparable benchmark(s)%n",
+                    failures, threshold * 100);
+            System.exit(1);
+        }
+        System.out.printf("no regressions beyond %.0f%%%n", threshold * 100);
+    }
+
+    /**
+     * Prints one comparison line and tells whether it is a regression.
+     *
+     * @param name           - name printed for the line
+     * @param expected       - baseline metric, with score and scoreError
+     * @param actual         - new metric, with score and scoreError
+     * @param higherIsBetter - true for throughput, false for time and allocation
+     * @param threshold      - allowed relative change in the bad direction, on top of the error margins
+     * @return true if the new interval lies entirely beyond the widened baseline interval
+     */
+    private static boolean compare(String name, JsonNode expected, JsonNode actual, boolean higherIsBetter,
+                                   double threshold) {
+        double expectedScore = expected.get("score").asDouble();
+        double actualScore = actual.get("score").asDouble();
+        double expectedError = error(expected);
+        double actualError = error(actual);
+        boolean regression = higherIsBetter
+                ? actualScore + actualError < (expectedScore - expectedError) * (1 - threshold)
+                : actualScore - actualError > (expectedScore + expectedError) * (1 + threshold);
+        double change = expectedScore == 0 ? 0 : (actualScore - expectedScore) / expectedScore;
+        System.out.printf("%-60s %22s %22s %+8.1f%%%s%n", name, interval(expected), interval(actual), change * 100,
+                regression ? "  REGRESSION" : "");
+        return regression;
+    }
+
+    /**
+     * @return scoreError of the metric, 0 when JMH couldn't compute one (NaN for a single iteration)
+     */
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String interval(JsonNode metric) {
+        return String.format("%.3f ± %.3f", metric.get("score").asDouble(), error(metric));
+    }
+
+    /**
+     * @return the first run setting the two runs differ in, null if they share all of them
+     */
+    private static String differentSettings(JsonNode expected, JsonNode actual) {
+        for (String setting : RUN_SETTINGS) {
+            if (!expected.path(setting).equals(actual.path(setting))) {
+                return setting;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Keys the entries of a JMH result file by benchmark, mode and parameters.
+     */
+    private static Map<String, JsonNode> index(JsonNode runs) {
+        Map<String, JsonNode> index = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            StringBuilder key = new StringBuilder(run.get("benchmark").asText()
+                    .replace("com.eazybytes.benchmarks.", ""))
+                    .append(" (").append(run.get("mode").asText()).append(')');
+            JsonNode params = run.get("params");
+            if (params != null) {
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+                }
+            }
+            index.put(key.toString(), run);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,191 @@
+package com.eazybytes.benchmarks;
+
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerPageDto;
+import com.eazybytes.accounts.dto.ResponseDto;
+import com.eazybytes.cards.dto.CardsDto;
+import com.eazybytes.loans.dto.LoansDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the response bodies in each format the services
+ * negotiate, with mappers built the way BinaryFormatsConfig builds them. The
+ * page and response wrappers are only written, the services never read them. Run
+ * with -prof gc to compare allocation too. The main method prints the encoded
+ * size of every body per format:
+ * <pre>
+ *   java -jar target/benchmarks.jar BinaryFormatsBenchmark -prof gc
+ *   java -cp target/benchmarks.jar com.eazybytes.benchmarks.BinaryFormatsBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BinaryFormatsBenchmark {
+
+    private static final String[] FORMATS = {"json", "cbor", "smile"};
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private CustomerDto customerDto;
+    private CardsDto cardsDto;
+    private LoansDto loansDto;
+    private CustomerPageDto customerPageDto;
+    private ResponseDto responseDto;
+    private byte[] customerDtoBytes;
+    private byte[] cardsDtoBytes;
+    private byte[] loansDtoBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = objectMapper(format);
+        customerDto = customerDto(1);
+        cardsDto = cardsDto();
+        loansDto = loansDto();
+        List<CustomerDto> customers = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            customers.add(customerDto(i));
+        }
+        customerPageDto = new CustomerPageDto(customers, "Y3VzdG9tZXI6MjA");
+        responseDto = new ResponseDto("201", "Account created successfully");
+
+        customerDtoBytes = objectMapper.writeValueAsBytes(customerDto);
+        cardsDtoBytes = objectMapper.writeValueAsBytes(cardsDto);
+        loansDtoBytes = objectMapper.writeValueAsBytes(loansDto);
+    }
+
+    @Benchmark
+    public byte[] writeCustomerDto() throws IOException {
+        return objectMapper.writeValueAsBytes(customerDto);
+    }
+
+    @Benchmark
+    public byte[] writeCardsDto() throws IOException {
+        return objectMapper.writeValueAsBytes(cardsDto);
+    }
+
+    @Benchmark
+    public byte[] writeLoansDto() throws IOException {
+        return objectMapper.writeValueAsBytes(loansDto);
+    }
+
+    @Benchmark
+    public byte[] writeCustomerPageDto() throws IOException {
+        return objectMapper.writeValueAsBytes(customerPageDto);
+    }
+
+    @Benchmark
+    public byte[] writeResponseDto() throws IOException {
+        return objectMapper.writeValueAsBytes(responseDto);
+    }
+
+    @Benchmark
+    public CustomerDto readCustomerDto() throws IOException {
+        return objectMapper.readValue(customerDtoBytes, CustomerDto.class);
+    }
+
+    @Benchmark
+    public CardsDto readCardsDto() throws IOException {
+        return objectMapper.readValue(cardsDtoBytes, CardsDto.class);
+    }
+
+    @Benchmark
+    public LoansDto readLoansDto() throws IOException {
+        return objectMapper.readValue(loansDtoBytes, LoansDto.class);
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%-16s %8s %8s %8s%n", "body", FORMATS[0], FORMATS[1], FORMATS[2]);
+        BinaryFormatsBenchmark[] states = new BinaryFormatsBenchmark[FORMATS.length];
+        for (int i = 0; i < FORMATS.length; i++) {
+            states[i] = new BinaryFormatsBenchmark();
+            states[i].format = FORMATS[i];
+            states[i].setUp();
+        }
+        printSizes("CustomerDto", states, state -> state.customerDtoBytes.length);
+        printSizes("CardsDto", states, state -> state.cardsDtoBytes.length);
+        printSizes("LoansDto", states, state -> state.loansDtoBytes.length);
+        printSizes("CustomerPageDto", states, state -> state.writeCustomerPageDto().length);
+        printSizes("ResponseDto", states, state -> state.writeResponseDto().length);
+    }
+
+    private interface Size {
+        int of(BinaryFormatsBenchmark state) throws IOException;
+    }
+
+    private static void printSizes(String body, BinaryFormatsBenchmark[] states, Size size) throws IOException {
+        System.out.printf("%-16s %8d %8d %8d%n", body, size.of(states[0]), size.of(states[1]), size.of(states[2]));
+    }
+
+    private static ObjectMapper objectMapper(String format) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return switch (format) {
+            case "json" -> builder.build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+
+    private static CustomerDto customerDto(int i) {
+        AccountsDto accountsDto = new AccountsDto();
+        accountsDto.setAccountNumber(1000000000L + i);
+        accountsDto.setAccountType("Savings");
+        accountsDto.setBranchAddress("123 Main Street, New York");
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Eazy Bytes " + i);
+        customerDto.setEmail("tutor" + i + "@eazybytes.com");
+        customerDto.setMobileNumber(String.format("9%09d", i));
+        customerDto.setAccountsDto(accountsDto);
+        return customerDto;
+    }
+
+    private static CardsDto cardsDto() {
+        CardsDto cardsDto = new CardsDto();
+        cardsDto.setMobileNumber("9345432123");
+        cardsDto.setCardNumber("100000000016");
+        cardsDto.setCardType("Credit Card");
+        cardsDto.setTotalLimit(100000);
+        cardsDto.setAmountUsed(1000);
+        cardsDto.setAvailableAmount(99000);
+        return cardsDto;
+    }
+
+    private static LoansDto loansDto() {
+        LoansDto loansDto = new LoansDto();
+        loansDto.setMobileNumber("9345432123");
+        loansDto.setLoanNumber("100000000001");
+        loansDto.setLoanType("Home Loan");
+        loansDto.setTotalLoan(100000);
+        loansDto.setAmountPaid(1000);
+        loansDto.setOutstandingAmount(99000);
+        return loansDto;
+    }
+}
@@ -0,0 +1,116 @@
+package com.eazybytes.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed loop load test: a fixed number of clients each send one request, wait
+ * for the answer and send the next, for a fixed time. Compares a service running
+ * on the Tomcat worker pool with the same service in virtual thread mode
+ * (spring.threads.virtual.enabled on Java 21). The clients are asynchronous, so
+ * 2000 of them need 2000 connections but not 2000 threads.
+ * <pre>
+ *   java -cp target/benchmarks.jar com.eazybytes.benchmarks.ConcurrencyLoadTest \
+ *       http://localhost:9000/api/fetch?mobileNumber=9000000001 2000 30
+ * </pre>
+ * Arguments: url, clients (default 2000), seconds (default 30), warm-up seconds (default 10).
+ */
+public final class ConcurrencyLoadTest {
+
+    private ConcurrencyLoadTest() {
+        // restrict instantiation
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        URI uri = URI.create(args[0]);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int warmUpSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+        System.out.printf("warm-up: %d clients for %ds against %s%n", clients, warmUpSeconds, uri);
+        run(httpClient, request, clients, warmUpSeconds);
+        System.out.printf("measuring: %d clients for %ds%n", clients, seconds);
+        Result result = run(httpClient, request, clients, seconds);
+
+        long[] latencies = result.latencies();
+        Arrays.sort(latencies);
+        System.out.printf("requests %d, errors %d, throughput %.1f req/s%n",
+                latencies.length, result.errors(), latencies.length / (double) seconds);
+        if (latencies.length > 0) {
+            System.out.printf("latency ms: p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                    percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99),
+                    percentile(latencies, 99.9), latencies[latencies.length - 1] / 1e6);
+        }
+    }
+
+    private static Result run(HttpClient httpClient, HttpRequest request, int clients, int seconds)
+            throws InterruptedException {
+        long endNanos = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        LatencyLog latencyLog = new LatencyLog();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch finished = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            send(httpClient, request, endNanos, latencyLog, errors, finished);
+        }
+        finished.await();
+        return new Result(latencyLog.toArray(), errors.get());
+    }
+
+    private static void send(HttpClient httpClient, HttpRequest request, long endNanos,
+                             LatencyLog latencyLog, AtomicLong errors, CountDownLatch finished) {
+        long startNanos = System.nanoTime();
+        if (startNanos >= endNanos) {
+            finished.countDown();
+            return;
+        }
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    if (ex == null && response.statusCode() < 400) {
+                        latencyLog.add(System.nanoTime() - startNanos);
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                    send(httpClient, request, endNanos, latencyLog, errors, finished);
+                });
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(long[] latencies, long errors) {
+    }
+
+    /**
+     * Growable array of latencies in nanoseconds, appended to from the client callbacks.
+     */
+    private static final class LatencyLog {
+
+        private long[] latencies = new long[1 << 16];
+        private int size;
+
+        synchronized void add(long latencyNanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+        }
+
+        synchronized long[] toArray() {
+            return Arrays.copyOf(latencies, size);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.eazybytes.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed loop load test of the config server: a fixed number of config clients
+ * poll one environment, each sending the next request as soon as the previous one
+ * is answered. In revalidate mode every client remembers the ETag of its last
+ * answer and sends it as If-None-Match, the way a refreshing client would; in full
+ * mode it asks unconditionally. Prints requests/sec and how many answers were 304.
+ * <pre>
+ *   java -cp target/benchmarks.jar com.eazybytes.benchmarks.ConfigPollLoadTest \
+ *       http://localhost:8071/accounts/prod/main 500 30 revalidate
+ * </pre>
+ * Arguments: url, clients (default 500), seconds (default 30), mode revalidate or full
+ * (default revalidate), warm-up seconds (default 10).
+ */
+public final class ConfigPollLoadTest {
+
+    private ConfigPollLoadTest() {
+        // restrict instantiation
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        URI uri = URI.create(args[0]);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        boolean revalidate = args.length <= 3 || "revalidate".equals(args[3]);
+        int warmUpSeconds = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        System.out.printf("warm-up: %d clients for %ds against %s%n", clients, warmUpSeconds, uri);
+        run(httpClient, uri, clients, warmUpSeconds, revalidate);
+        System.out.printf("measuring: %d clients for %ds, %s%n", clients, seconds,
+                revalidate ? "revalidating with If-None-Match" : "unconditional");
+        Result result = run(httpClient, uri, clients, seconds, revalidate);
+
+        System.out.printf("requests %d, not modified %d, errors %d, throughput %.1f req/s%n",
+                result.requests(), result.notModified(), result.errors(), result.requests() / (double) seconds);
+    }
+
+    private static Result run(HttpClient httpClient, URI uri, int clients, int seconds, boolean revalidate)
+            throws InterruptedException {
+        long endNanos = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        Counters counters = new Counters();
+        CountDownLatch finished = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            poll(httpClient, uri, revalidate ? "" : null, endNanos, counters, finished);
+        }
+        finished.await();
+        return new Result(counters.requests.get(), counters.notModified.get(), counters.errors.get());
+    }
+
+    /**
+     * @param eTag - ETag of this client's last answer, empty before the first one, null in full mode
+     */
+    private static void poll(HttpClient httpClient, URI uri, String eTag, long endNanos,
+                             Counters counters, CountDownLatch finished) {
+        if (System.nanoTime() >= endNanos) {
+            finished.countDown();
+            return;
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET();
+        if (eTag != null && !eTag.isEmpty()) {
+            request.header("If-None-Match", eTag);
+        }
+        httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    String nextETag = eTag;
+                    if (ex != null || response.statusCode() >= 400) {
+                        counters.errors.incrementAndGet();
+                    } else {
+                        counters.requests.incrementAndGet();
+                        if (response.statusCode() == 304) {
+                            counters.notModified.incrementAndGet();
+                        } else if (eTag != null) {
+                            nextETag = response.headers().firstValue("ETag").orElse("");
+                        }
+                    }
+                    poll(httpClient, uri, nextETag, endNanos, counters, finished);
+                });
+    }
+
+    private record Result(long requests, long notModified, long errors) {
+    }
+
+    private static final class Counters {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong notModified = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
@@ -0,0 +1,123 @@
+package com.eazybytes.benchmarks;
+
+import com.eazybytes.cards.dto.ErrorResponseDto;
+import com.eazybytes.cards.exception.CardAlreadyExistsException;
+import com.eazybytes.cards.exception.GlobalExceptionHandler;
+import com.eazybytes.cards.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of one 404 and one 400 from the service call to the error body, thrown
+ * from below a stack as deep as the Tomcat, Spring MVC and proxy frames above a
+ * service method. The "formerly" variants throw the previous exception, with a
+ * formatted message and a captured stack trace, and build the same error body as
+ * GlobalExceptionHandler, so the difference is the exception alone. Run with
+ * -prof gc to see the allocation per error.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ErrorPathBenchmark {
+
+    @Param({"120"})
+    public int stackDepth;
+
+    private GlobalExceptionHandler handler;
+    private WebRequest webRequest;
+    private String mobileNumber;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        webRequest = (WebRequest) Proxy.newProxyInstance(WebRequest.class.getClassLoader(),
+                new Class<?>[] {WebRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getDescription" -> "uri=/api/fetch";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        mobileNumber = "9345432123";
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponseDto> notFound() {
+        try {
+            throwAt(stackDepth, () -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber));
+            return null;
+        } catch (ResourceNotFoundException exception) {
+            return handler.handleResourceNotFoundException(exception, webRequest);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponseDto> notFoundFormerly() {
+        try {
+            throwAt(stackDepth, () -> new StackCapturingException(String.format(
+                    "%s not found with the given input data %s : '%s'", "Card", "mobileNumber", mobileNumber)));
+            return null;
+        } catch (StackCapturingException exception) {
+            return formerErrorResponse(HttpStatus.NOT_FOUND, exception);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponseDto> alreadyExists() {
+        try {
+            throwAt(stackDepth, () -> new CardAlreadyExistsException(
+                    "Card already registered with given mobileNumber " + mobileNumber));
+            return null;
+        } catch (CardAlreadyExistsException exception) {
+            return handler.handleCardAlreadyExistsException(exception, webRequest);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponseDto> alreadyExistsFormerly() {
+        try {
+            throwAt(stackDepth, () -> new StackCapturingException(
+                    "Card already registered with given mobileNumber " + mobileNumber));
+            return null;
+        } catch (StackCapturingException exception) {
+            return formerErrorResponse(HttpStatus.BAD_REQUEST, exception);
+        }
+    }
+
+    private ResponseEntity<ErrorResponseDto> formerErrorResponse(HttpStatus status, Exception exception) {
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto(webRequest.getDescription(false), status,
+                exception.getMessage(), LocalDateTime.now());
+        return new ResponseEntity<>(errorResponseDto, status);
+    }
+
+    private static void throwAt(int depth, Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        throwAt(depth - 1, exception);
+    }
+
+    private static final class StackCapturingException extends RuntimeException {
+
+        StackCapturingException(String message) {
+            super(message);
+        }
+    }
+}
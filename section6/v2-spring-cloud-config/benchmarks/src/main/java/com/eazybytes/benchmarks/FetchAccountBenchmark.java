@@ -0,0 +1,98 @@
+package com.eazybytes.benchmarks;
+
+import com.eazybytes.accounts.AccountsApplication;
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.entity.Accounts;
+import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.mapper.AccountsMapper;
+import com.eazybytes.accounts.mapper.CustomerMapper;
+import com.eazybytes.accounts.repository.AccountsRepository;
+import com.eazybytes.accounts.repository.CustomerRepository;
+import com.eazybytes.accounts.service.IAccountsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * The database side of /api/fetch against an in-memory H2 seeded with customers,
+ * measured below the customers cache.
+ *
+ * projection is the current single joined query, twoLookups replays the previous
+ * findByMobileNumber + findByCustomerId + mapping. Run with -prof gc to see the
+ * allocation difference next to the latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FetchAccountBenchmark {
+
+    @Param({"10000"})
+    private int customers;
+
+    private ConfigurableApplicationContext context;
+    private IAccountsService accountsService;
+    private CustomerRepository customerRepository;
+    private AccountsRepository accountsRepository;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(AccountsApplication.class, "fetch");
+        context.getBean(JdbcTemplate.class).execute(
+                "CREATE SEQUENCE IF NOT EXISTS account_number_seq START WITH 1 INCREMENT BY 1000");
+        accountsService = context.getBean(IAccountsService.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        accountsRepository = context.getBean(AccountsRepository.class);
+        // through the bulk endpoint's service path, so the rows look like real onboarded customers
+        accountsService.createAccounts(IntStream.range(0, customers).mapToObj(i -> {
+            CustomerDto customerDto = new CustomerDto();
+            customerDto.setName("Customer " + i);
+            customerDto.setEmail("customer" + i + "@eazybytes.com");
+            customerDto.setMobileNumber(ServiceContexts.mobileNumber(i));
+            return customerDto;
+        }).iterator(), result -> { });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerDto projection() {
+        return customerRepository.findCustomerDtoByMobileNumber(nextMobileNumber()).orElseThrow();
+    }
+
+    @Benchmark
+    public CustomerDto twoLookups() {
+        Customer customer = customerRepository.findByMobileNumber(nextMobileNumber()).orElseThrow();
+        Accounts accounts = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow();
+        CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
+        customerDto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
+        return customerDto;
+    }
+
+    private String nextMobileNumber() {
+        next = (next + 1) % customers;
+        return ServiceContexts.mobileNumber(next);
+    }
+}
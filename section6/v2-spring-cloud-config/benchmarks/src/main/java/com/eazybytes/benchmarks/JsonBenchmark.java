@@ -0,0 +1,157 @@
+package com.eazybytes.benchmarks;
+
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.CustomerDetailsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerPageDto;
+import com.eazybytes.accounts.dto.ErrorResponseDto;
+import com.eazybytes.accounts.dto.ResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response bodies, with an ObjectMapper configured
+ * the way Spring Boot configures the one behind the message converters.
+ * Part of the regression suite, see BaselineComparator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class JsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private CustomerDto customerDto;
+    private com.eazybytes.cards.dto.CardsDto cardsDto;
+    private com.eazybytes.loans.dto.LoansDto loansDto;
+    private CustomerDetailsDto customerDetailsDto;
+    private CustomerPageDto customerPageDto;
+    private ResponseDto responseDto;
+    private ErrorResponseDto errorResponseDto;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        customerDto = customerDto(1);
+
+        cardsDto = new com.eazybytes.cards.dto.CardsDto();
+        cardsDto.setMobileNumber("9345432123");
+        cardsDto.setCardNumber("100000000016");
+        cardsDto.setCardType("Credit Card");
+        cardsDto.setTotalLimit(100000);
+        cardsDto.setAmountUsed(1000);
+        cardsDto.setAvailableAmount(99000);
+
+        loansDto = new com.eazybytes.loans.dto.LoansDto();
+        loansDto.setMobileNumber("9345432123");
+        loansDto.setLoanNumber("100000000001");
+        loansDto.setLoanType("Home Loan");
+        loansDto.setTotalLoan(100000);
+        loansDto.setAmountPaid(1000);
+        loansDto.setOutstandingAmount(99000);
+
+        customerDetailsDto = new CustomerDetailsDto();
+        customerDetailsDto.setName(customerDto.getName());
+        customerDetailsDto.setEmail(customerDto.getEmail());
+        customerDetailsDto.setMobileNumber(customerDto.getMobileNumber());
+        customerDetailsDto.setAccountsDto(customerDto.getAccountsDto());
+        com.eazybytes.accounts.dto.CardsDto detailsCardsDto = new com.eazybytes.accounts.dto.CardsDto();
+        detailsCardsDto.setMobileNumber(cardsDto.getMobileNumber());
+        detailsCardsDto.setCardNumber(cardsDto.getCardNumber());
+        detailsCardsDto.setCardType(cardsDto.getCardType());
+        detailsCardsDto.setTotalLimit(cardsDto.getTotalLimit());
+        detailsCardsDto.setAmountUsed(cardsDto.getAmountUsed());
+        detailsCardsDto.setAvailableAmount(cardsDto.getAvailableAmount());
+        customerDetailsDto.setCardsDto(detailsCardsDto);
+        com.eazybytes.accounts.dto.LoansDto detailsLoansDto = new com.eazybytes.accounts.dto.LoansDto();
+        detailsLoansDto.setMobileNumber(loansDto.getMobileNumber());
+        detailsLoansDto.setLoanNumber(loansDto.getLoanNumber());
+        detailsLoansDto.setLoanType(loansDto.getLoanType());
+        detailsLoansDto.setTotalLoan(loansDto.getTotalLoan());
+        detailsLoansDto.setAmountPaid(loansDto.getAmountPaid());
+        detailsLoansDto.setOutstandingAmount(loansDto.getOutstandingAmount());
+        customerDetailsDto.setLoansDto(detailsLoansDto);
+
+        List<CustomerDto> customers = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            customers.add(customerDto(i));
+        }
+        customerPageDto = new CustomerPageDto(customers, "Y3VzdG9tZXI6MjA");
+
+        responseDto = new ResponseDto("201", "Account created successfully");
+        errorResponseDto = new ErrorResponseDto("uri=/api/fetch", HttpStatus.NOT_FOUND,
+                "Customer not found with the given input data mobileNumber : '9345432123'",
+                LocalDateTime.of(2024, 1, 1, 12, 0));
+    }
+
+    @Benchmark
+    public byte[] customerDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(customerDto);
+    }
+
+    @Benchmark
+    public byte[] cardsDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cardsDto);
+    }
+
+    @Benchmark
+    public byte[] loansDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(loansDto);
+    }
+
+    @Benchmark
+    public byte[] customerDetailsDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(customerDetailsDto);
+    }
+
+    @Benchmark
+    public byte[] customerPageDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(customerPageDto);
+    }
+
+    @Benchmark
+    public byte[] responseDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responseDto);
+    }
+
+    @Benchmark
+    public byte[] errorResponseDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(errorResponseDto);
+    }
+
+    private static CustomerDto customerDto(int i) {
+        AccountsDto accountsDto = new AccountsDto();
+        accountsDto.setAccountNumber(1000000000L + i);
+        accountsDto.setAccountType("Savings");
+        accountsDto.setBranchAddress("123 Main Street, New York");
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Eazy Bytes " + i);
+        customerDto.setEmail("tutor" + i + "@eazybytes.com");
+        customerDto.setMobileNumber(String.format("9%09d", i));
+        customerDto.setAccountsDto(accountsDto);
+        return customerDto;
+    }
+}
@@ -0,0 +1,135 @@
+package com.eazybytes.benchmarks;
+
+import com.eazybytes.accounts.AccountsApplication;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.entity.Accounts;
+import com.eazybytes.accounts.repository.AccountsRepository;
+import com.eazybytes.accounts.repository.CustomerRepository;
+import com.eazybytes.cards.CardsApplication;
+import com.eazybytes.cards.entity.Cards;
+import com.eazybytes.cards.repository.CardsRepository;
+import com.eazybytes.loans.LoansApplication;
+import com.eazybytes.loans.entity.Loans;
+import com.eazybytes.loans.repository.LoansRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every repository lookup by mobile number, customer id, card number and loan number,
+ * at growing table sizes. With the unique indexes in place the latency should stay flat
+ * from the smallest to the largest table; without them it grows with the row count.
+ *
+ * 5M rows per table needs a large heap, run a subset with -p rows=10000,100000 otherwise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LookupScalingBenchmark {
+
+    private static final int SEED_BATCH = 100_000;
+
+    @Param({"10000", "100000", "1000000", "5000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext accountsContext;
+    private ConfigurableApplicationContext cardsContext;
+    private ConfigurableApplicationContext loansContext;
+    private CustomerRepository customerRepository;
+    private AccountsRepository accountsRepository;
+    private CardsRepository cardsRepository;
+    private LoansRepository loansRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        accountsContext = ServiceContexts.start(AccountsApplication.class, "accounts");
+        cardsContext = ServiceContexts.start(CardsApplication.class, "cards");
+        loansContext = ServiceContexts.start(LoansApplication.class, "loans");
+        customerRepository = accountsContext.getBean(CustomerRepository.class);
+        accountsRepository = accountsContext.getBean(AccountsRepository.class);
+        cardsRepository = cardsContext.getBean(CardsRepository.class);
+        loansRepository = loansContext.getBean(LoansRepository.class);
+
+        // plain INSERT ... SELECT, going through JPA would take longer than the benchmark itself
+        seed(accountsContext, "INSERT INTO customer (customer_id, name, email, mobile_number, created_at, created_by) " +
+                "SELECT X, 'Customer ' || X, 'customer' || X || '@eazybytes.com', " +
+                "'9' || LPAD(CAST(X AS VARCHAR), 9, '0'), CURRENT_TIMESTAMP, 'BENCHMARK' FROM SYSTEM_RANGE(?, ?)");
+        seed(accountsContext, "INSERT INTO accounts (customer_id, account_number, account_type, branch_address, created_at, created_by) " +
+                "SELECT X, 1000000000 + X, 'Savings', '123 Main Street, New York', CURRENT_TIMESTAMP, 'BENCHMARK' " +
+                "FROM SYSTEM_RANGE(?, ?)");
+        seed(cardsContext, "INSERT INTO cards (mobile_number, card_number, card_type, total_limit, amount_used, " +
+                "available_amount, created_at, created_by) " +
+                "SELECT '9' || LPAD(CAST(X AS VARCHAR), 9, '0'), CAST(100000000000 + X AS VARCHAR), 'Credit Card', " +
+                "100000, 0, 100000, CURRENT_TIMESTAMP, 'BENCHMARK' FROM SYSTEM_RANGE(?, ?)");
+        seed(loansContext, "INSERT INTO loans (mobile_number, loan_number, loan_type, total_loan, amount_paid, " +
+                "outstanding_amount, created_at, created_by) " +
+                "SELECT '9' || LPAD(CAST(X AS VARCHAR), 9, '0'), CAST(100000000000 + X AS VARCHAR), 'Home Loan', " +
+                "100000, 0, 100000, CURRENT_TIMESTAMP, 'BENCHMARK' FROM SYSTEM_RANGE(?, ?)");
+    }
+
+    private void seed(ConfigurableApplicationContext context, String insertSelect) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int from = 0; from < rows; from += SEED_BATCH) {
+            jdbcTemplate.update(insertSelect, from, Math.min(from + SEED_BATCH, rows) - 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        accountsContext.close();
+        cardsContext.close();
+        loansContext.close();
+    }
+
+    @Benchmark
+    public CustomerDto customerByMobileNumber() {
+        return customerRepository.findCustomerDtoByMobileNumber(ServiceContexts.mobileNumber(randomRow())).orElseThrow();
+    }
+
+    @Benchmark
+    public Accounts accountByCustomerId() {
+        return accountsRepository.findByCustomerId((long) randomRow()).orElseThrow();
+    }
+
+    @Benchmark
+    public Cards cardByMobileNumber() {
+        return cardsRepository.findByMobileNumber(ServiceContexts.mobileNumber(randomRow())).orElseThrow();
+    }
+
+    @Benchmark
+    public Cards cardByCardNumber() {
+        return cardsRepository.findByCardNumber(Long.toString(100000000000L + randomRow())).orElseThrow();
+    }
+
+    @Benchmark
+    public Loans loanByMobileNumber() {
+        return loansRepository.findByMobileNumber(ServiceContexts.mobileNumber(randomRow())).orElseThrow();
+    }
+
+    @Benchmark
+    public Loans loanByLoanNumber() {
+        return loansRepository.findByLoanNumber(Long.toString(100000000000L + randomRow())).orElseThrow();
+    }
+
+    private int randomRow() {
+        return ThreadLocalRandom.current().nextInt(rows);
+    }
+}
@@ -0,0 +1,125 @@
+package com.eazybytes.benchmarks;
+
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.entity.Accounts;
+import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.mapper.AccountsMapper;
+import com.eazybytes.accounts.mapper.CustomerMapper;
+import com.eazybytes.cards.dto.CardsDto;
+import com.eazybytes.cards.entity.Cards;
+import com.eazybytes.cards.mapper.CardsMapper;
+import com.eazybytes.loans.dto.LoansDto;
+import com.eazybytes.loans.entity.Loans;
+import com.eazybytes.loans.mapper.LoansMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO and DTO to entity mapping of every service, one fresh target per
+ * call as the services do. Part of the regression suite, see BaselineComparator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class MapperBenchmark {
+
+    private Accounts accounts;
+    private AccountsDto accountsDto;
+    private Customer customer;
+    private CustomerDto customerDto;
+    private Cards cards;
+    private CardsDto cardsDto;
+    private Loans loans;
+    private LoansDto loansDto;
+
+    @Setup
+    public void setUp() {
+        accounts = new Accounts();
+        accounts.setCustomerId(1L);
+        accounts.setAccountNumber(1000000001L);
+        accounts.setAccountType("Savings");
+        accounts.setBranchAddress("123 Main Street, New York");
+        accountsDto = AccountsMapper.mapToAccountsDto(accounts, new AccountsDto());
+
+        customer = new Customer();
+        customer.setCustomerId(1L);
+        customer.setName("Eazy Bytes");
+        customer.setEmail("tutor@eazybytes.com");
+        customer.setMobileNumber("9345432123");
+        customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
+
+        cards = new Cards();
+        cards.setCardId(1L);
+        cards.setMobileNumber("9345432123");
+        cards.setCardNumber("100000000016");
+        cards.setCardType("Credit Card");
+        cards.setTotalLimit(100000);
+        cards.setAmountUsed(1000);
+        cards.setAvailableAmount(99000);
+        cardsDto = CardsMapper.mapToCardsDto(cards, new CardsDto());
+
+        loans = new Loans();
+        loans.setLoanId(1L);
+        loans.setMobileNumber("9345432123");
+        loans.setLoanNumber("100000000001");
+        loans.setLoanType("Home Loan");
+        loans.setTotalLoan(100000);
+        loans.setAmountPaid(1000);
+        loans.setOutstandingAmount(99000);
+        loansDto = LoansMapper.mapToLoansDto(loans, new LoansDto());
+    }
+
+    @Benchmark
+    public AccountsDto accountsToDto() {
+        return AccountsMapper.mapToAccountsDto(accounts, new AccountsDto());
+    }
+
+    @Benchmark
+    public Accounts accountsFromDto() {
+        return AccountsMapper.mapToAccounts(accountsDto, new Accounts());
+    }
+
+    @Benchmark
+    public CustomerDto customerToDto() {
+        return CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
+    }
+
+    @Benchmark
+    public Customer customerFromDto() {
+        return CustomerMapper.mapToCustomer(customerDto, new Customer());
+    }
+
+    @Benchmark
+    public CardsDto cardsToDto() {
+        return CardsMapper.mapToCardsDto(cards, new CardsDto());
+    }
+
+    @Benchmark
+    public Cards cardsFromDto() {
+        return CardsMapper.mapToCards(cardsDto, new Cards());
+    }
+
+    @Benchmark
+    public LoansDto loansToDto() {
+        return LoansMapper.mapToLoansDto(loans, new LoansDto());
+    }
+
+    @Benchmark
+    public Loans loansFromDto() {
+        return LoansMapper.mapToLoans(loansDto, new Loans());
+    }
+}
@@ -0,0 +1,41 @@
+package com.eazybytes.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Locale;
+
+/**
+ * Boots a service without web server, config server, config stream or bus, on its own in-memory
+ * H2 database. The tables come from the entity mappings because the shaded jar holds several
+ * schema.sql files. For the same reason only one application.yml survives at the classpath root;
+ * each service reads its own copy from service-config/{service}/, see the pom.
+ */
+final class ServiceContexts {
+
+    private ServiceContexts() {
+        // restrict instantiation
+    }
+
+    static ConfigurableApplicationContext start(Class<?> application, String database) {
+        String service = application.getSimpleName().replace("Application", "").toLowerCase(Locale.ROOT);
+        return new SpringApplicationBuilder(application)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.location=classpath:/service-config/" + service + "/",
+                        "--spring.cloud.config.enabled=false",
+                        "--config-stream.enabled=false",
+                        "--spring.cloud.bus.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:" + database,
+                        "--spring.sql.init.mode=never",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--build.version=benchmark");
+    }
+
+    static String mobileNumber(int i) {
+        return String.format("9%09d", i);
+    }
+}
@@ -0,0 +1,125 @@
+package com.eazybytes.benchmarks;
+
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.cards.dto.CardsDto;
+import com.eazybytes.loans.dto.LoansDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of the request DTOs as @Valid runs it, mostly the @Pattern
+ * regexes. The invalid variants break every pattern, so they also pay for
+ * building the violations and interpolating their messages.
+ * Part of the regression suite, see BaselineComparator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CustomerDto validCustomerDto;
+    private CustomerDto invalidCustomerDto;
+    private CardsDto validCardsDto;
+    private CardsDto invalidCardsDto;
+    private LoansDto validLoansDto;
+    private LoansDto invalidLoansDto;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        validCustomerDto = customerDto("9345432123");
+        invalidCustomerDto = customerDto("93454321");
+        validCardsDto = cardsDto("9345432123", "100000000016");
+        invalidCardsDto = cardsDto("93454321", "1000000");
+        validLoansDto = loansDto("9345432123", "100000000001");
+        invalidLoansDto = loansDto("93454321", "1000000");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerDto>> customerDtoValid() {
+        return validator.validate(validCustomerDto);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerDto>> customerDtoInvalid() {
+        return validator.validate(invalidCustomerDto);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CardsDto>> cardsDtoValid() {
+        return validator.validate(validCardsDto);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CardsDto>> cardsDtoInvalid() {
+        return validator.validate(invalidCardsDto);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<LoansDto>> loansDtoValid() {
+        return validator.validate(validLoansDto);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<LoansDto>> loansDtoInvalid() {
+        return validator.validate(invalidLoansDto);
+    }
+
+    private static CustomerDto customerDto(String mobileNumber) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Eazy Bytes");
+        customerDto.setEmail("tutor@eazybytes.com");
+        customerDto.setMobileNumber(mobileNumber);
+        return customerDto;
+    }
+
+    private static CardsDto cardsDto(String mobileNumber, String cardNumber) {
+        CardsDto cardsDto = new CardsDto();
+        cardsDto.setMobileNumber(mobileNumber);
+        cardsDto.setCardNumber(cardNumber);
+        cardsDto.setCardType("Credit Card");
+        cardsDto.setTotalLimit(100000);
+        cardsDto.setAmountUsed(1000);
+        cardsDto.setAvailableAmount(99000);
+        return cardsDto;
+    }
+
+    private static LoansDto loansDto(String mobileNumber, String loanNumber) {
+        LoansDto loansDto = new LoansDto();
+        loansDto.setMobileNumber(mobileNumber);
+        loansDto.setLoanNumber(loanNumber);
+        loansDto.setLoanType("Home Loan");
+        loansDto.setTotalLoan(100000);
+        loansDto.setAmountPaid(1000);
+        loansDto.setOutstandingAmount(99000);
+        return loansDto;
+    }
+}
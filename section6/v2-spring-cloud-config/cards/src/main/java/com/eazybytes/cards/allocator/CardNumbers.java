@@ -0,0 +1,40 @@
+package com.eazybytes.cards.allocator;
+
+/**
+ * Turns the numbers drawn from card_number_seq into card numbers carrying a Luhn check digit.
+ */
+public final class CardNumbers {
+
+    private CardNumbers() {
+    }
+
+    /**
+     * @param payload - Card number without its check digit
+     * @return payload followed by its Luhn check digit
+     */
+    public static String withCheckDigit(long payload) {
+        return Long.toString(payload * 10 + luhnCheckDigit(payload));
+    }
+
+    /**
+     * @param payload - Card number without its check digit
+     * @return the digit that makes payload followed by it pass the Luhn check
+     */
+    public static int luhnCheckDigit(long payload) {
+        int sum = 0;
+        // the check digit takes the rightmost position, so doubling starts at the payload's last digit
+        boolean doubled = true;
+        for (long rest = payload; rest > 0; rest /= 10) {
+            int digit = (int) (rest % 10);
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -0,0 +1,31 @@
+package com.eazybytes.cards.conditional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * What a conditional GET compares: a strong ETag and the Last-Modified time of a
+ * resource. The ETag is the id and the JPA version of the row behind it: every update
+ * through the entity bumps the version, and deleting and recreating a mobile number
+ * gives a new id. Last-Modified is the newest audit timestamp.
+ * Built by a projection query, without loading the entity.
+ *
+ * @param eTag         - Quoted strong entity tag
+ * @param lastModified - Newest audit timestamp in epoch milliseconds, -1 if none is set
+ */
+public record ResourceVersion(String eTag, long lastModified) {
+
+    public ResourceVersion(Long id, Long version, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this("\"" + id + "-" + version + "\"", lastModified(createdAt, updatedAt));
+    }
+
+    private static long lastModified(LocalDateTime... timestamps) {
+        long lastModified = -1;
+        for (LocalDateTime timestamp : timestamps) {
+            if (timestamp != null) {
+                lastModified = Math.max(lastModified, timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+        }
+        return lastModified;
+    }
+}
@@ -0,0 +1,37 @@
+package com.eazybytes.cards.conditional;
+
+import com.eazybytes.cards.dto.CardsDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Card Details with the ResourceVersion of the same row, so the ETag sent with a
+ * body always describes that body.
+ *
+ * @param card    - Card Details of the mobile number
+ * @param version - ETag and Last-Modified of those details
+ */
+public record VersionedCard(CardsDto card, ResourceVersion version) {
+
+    /**
+     * Used by the JPQL constructor expression in CardsRepository to build both from one row
+     */
+    public VersionedCard(String mobileNumber, String cardNumber, String cardType,
+                         int totalLimit, int amountUsed, int availableAmount,
+                         Long cardId, Long version, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(cardsDto(mobileNumber, cardNumber, cardType, totalLimit, amountUsed, availableAmount),
+                new ResourceVersion(cardId, version, createdAt, updatedAt));
+    }
+
+    private static CardsDto cardsDto(String mobileNumber, String cardNumber, String cardType,
+                                     int totalLimit, int amountUsed, int availableAmount) {
+        CardsDto cardsDto = new CardsDto();
+        cardsDto.setMobileNumber(mobileNumber);
+        cardsDto.setCardNumber(cardNumber);
+        cardsDto.setCardType(cardType);
+        cardsDto.setTotalLimit(totalLimit);
+        cardsDto.setAmountUsed(amountUsed);
+        cardsDto.setAvailableAmount(availableAmount);
+        return cardsDto;
+    }
+}
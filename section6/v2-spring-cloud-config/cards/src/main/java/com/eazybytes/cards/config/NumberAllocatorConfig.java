@@ -0,0 +1,20 @@
+package com.eazybytes.cards.config;
+
+import com.eazybytes.allocator.NumberAllocator;
+import com.eazybytes.cards.constants.CardsConstants;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Card numbers without their check digit, 11 digits, drawn from card_number_seq.
+ */
+@Configuration
+public class NumberAllocatorConfig {
+
+    @Bean
+    public NumberAllocator numberAllocator(JdbcTemplate jdbcTemplate) {
+        return new NumberAllocator(jdbcTemplate, CardsConstants.CARD_NUMBER_SEQUENCE, CardsConstants.CARD_NUMBER_BLOCK_SIZE,
+                CardsConstants.CARD_NUMBER_BASE, CardsConstants.CARD_NUMBER_MAX);
+    }
+}
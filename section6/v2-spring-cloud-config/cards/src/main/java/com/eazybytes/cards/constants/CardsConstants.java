@@ -7,7 +7,23 @@ public final class CardsConstants {
     }
 
     public static final String  CREDIT_CARD = "Credit Card";
+    // the unique constraint behind the "already registered" answers, see schema.sql
+    public static final String  CARD_MOBILE_NUMBER_CONSTRAINT = "uk_cards_mobile_number";
     public static final int  NEW_CARD_LIMIT = 1_00_000;
+    // must match INCREMENT BY of card_number_seq in schema.sql
+    public static final String  CARD_NUMBER_SEQUENCE = "card_number_seq";
+    public static final int  CARD_NUMBER_BLOCK_SIZE = 1000;
+    // 11 digit payload, the Luhn check digit makes it 12
+    public static final long  CARD_NUMBER_BASE = 10_000_000_000L;
+    public static final long  CARD_NUMBER_MAX = 99_999_999_999L;
+    // page size bounds of /api/list
+    public static final String  LIST_DEFAULT_PAGE_SIZE = "20";
+    public static final int  LIST_MAX_PAGE_SIZE = 100;
+    // mobile numbers per IN list of /api/delete/batch
+    public static final int  DELETE_BATCH_IN_LIST_SIZE = 500;
+    public static final String  IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    // Jackson Smile, served next to JSON and CBOR, see BinaryFormatsConfig
+    public static final String  SMILE_MEDIA_TYPE = "application/x-jackson-smile";
     public static final String  STATUS_201 = "201";
     public static final String  MESSAGE_201 = "Card created successfully";
     public static final String  STATUS_200 = "200";
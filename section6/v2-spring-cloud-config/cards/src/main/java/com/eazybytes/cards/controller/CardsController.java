@@ -1,11 +1,18 @@
 package com.eazybytes.cards.controller;
 
+import com.eazybytes.cards.conditional.ResourceVersion;
+import com.eazybytes.cards.conditional.VersionedCard;
 import com.eazybytes.cards.constants.CardsConstants;
 import com.eazybytes.cards.dto.CardsContactInfoDto;
 import com.eazybytes.cards.dto.CardsDto;
+import com.eazybytes.cards.dto.CardsPageDto;
+import com.eazybytes.cards.dto.DeleteBatchRequestDto;
+import com.eazybytes.cards.dto.DeleteBatchResponseDto;
 import com.eazybytes.cards.dto.ErrorResponseDto;
 import com.eazybytes.cards.dto.ResponseDto;
 import com.eazybytes.cards.service.ICardsService;
+import com.eazybytes.cards.idempotency.IdempotencyStore;
+import com.eazybytes.config.stream.HotSwapPropertiesPostProcessor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,7 +20,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
@@ -22,6 +32,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * @author Eazy Bytes
@@ -32,7 +43,8 @@ import org.springframework.web.bind.annotation.*;
         description = "CRUD REST APIs in EazyBank to CREATE, UPDATE, FETCH AND DELETE card details"
 )
 @RestController
-@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE, CardsConstants.SMILE_MEDIA_TYPE})
 //@AllArgsConstructor
 @Validated
 public class CardsController {
@@ -55,6 +67,9 @@ public class CardsController {
     @Autowired
     private CardsContactInfoDto cardsContactInfoDto;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
     @Operation(
             summary = "Create Card REST API",
             description = "REST API to create new Card inside EazyBank"
@@ -64,6 +79,13 @@ public class CardsController {
                     responseCode = "201",
                     description = "HTTP Status CREATED"
             ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "HTTP Status Conflict, Idempotency-Key reused for another request or still in progress",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
@@ -76,11 +98,16 @@ public class CardsController {
     @PostMapping("/create")
     public ResponseEntity<ResponseDto> createCard(@Valid @RequestParam
                                                       @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
-                                                      String mobileNumber) {
-        iCardsService.createCard(mobileNumber);
+                                                      String mobileNumber,
+                                                  @RequestHeader(name = CardsConstants.IDEMPOTENCY_KEY_HEADER, required = false)
+                                                      @Size(max = 255, message = "Idempotency-Key must be at most 255 characters")
+                                                      String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, mobileNumber, () -> {
+            iCardsService.createCard(mobileNumber);
             return ResponseEntity
                     .status(HttpStatus.CREATED)
                     .body(new ResponseDto(CardsConstants.STATUS_201, CardsConstants.MESSAGE_201));
+        });
     }
 
     @Operation(
@@ -92,6 +119,10 @@ public class CardsController {
                     responseCode = "200",
                     description = "HTTP Status OK"
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "HTTP Status Not Modified, the If-None-Match or If-Modified-Since header still matches"
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
@@ -103,9 +134,52 @@ public class CardsController {
     @GetMapping("/fetch")
     public ResponseEntity<CardsDto> fetchCardDetails(@RequestParam
                                                                @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
-                                                               String mobileNumber) {
-        CardsDto cardsDto = iCardsService.fetchCard(mobileNumber);
-        return ResponseEntity.status(HttpStatus.OK).body(cardsDto);
+                                                               String mobileNumber,
+                                                     WebRequest webRequest) {
+        // a poll whose If-None-Match / If-Modified-Since still matches gets a bodiless 304;
+        // otherwise checkNotModified has set ETag and Last-Modified of the very body sent
+        VersionedCard versioned = iCardsService.fetchVersionedCard(mobileNumber);
+        ResourceVersion version = versioned.version();
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified())) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(versioned.card());
+    }
+
+    @Operation(
+            summary = "List Card Details REST API",
+            description = "REST API to page through card details, optionally of one card type"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status Bad Request",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping("/list")
+    public ResponseEntity<CardsPageDto> listCardDetails(@RequestParam(required = false) String cardType,
+                                                           @RequestParam(required = false) String pageToken,
+                                                           @RequestParam(defaultValue = CardsConstants.LIST_DEFAULT_PAGE_SIZE)
+                                                           @Min(value = 1, message = "Page size must be at least 1")
+                                                           @Max(value = CardsConstants.LIST_MAX_PAGE_SIZE, message = "Page size must be at most 100")
+                                                           int pageSize) {
+        CardsPageDto cardsPageDto = iCardsService.listCards(cardType, pageToken, pageSize);
+        return ResponseEntity.status(HttpStatus.OK).body(cardsPageDto);
     }
 
     @Operation(
@@ -180,6 +254,31 @@ public class CardsController {
         }
     }
 
+    @Operation(
+            summary = "Batch Delete Card Details REST API",
+            description = "REST API to delete the cards of up to 1000 mobile numbers in one transaction"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping("/delete/batch")
+    public ResponseEntity<DeleteBatchResponseDto> deleteCardDetailsBatch(@Valid @RequestBody DeleteBatchRequestDto deleteBatchRequestDto) {
+        DeleteBatchResponseDto deleteBatchResponseDto = iCardsService.deleteCards(deleteBatchRequestDto.getMobileNumbers());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(deleteBatchResponseDto);
+    }
+
     @Operation(
             summary = "Get Build information",
             description = "Get Build information that is deployed into cards microservice"
@@ -252,7 +351,7 @@ public class CardsController {
     public ResponseEntity<CardsContactInfoDto> getContactInfo(){
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(cardsContactInfoDto);
+                .body(HotSwapPropertiesPostProcessor.snapshot(cardsContactInfoDto));
     }
 
 }
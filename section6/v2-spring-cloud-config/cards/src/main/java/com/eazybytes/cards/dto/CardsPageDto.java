@@ -0,0 +1,25 @@
+package com.eazybytes.cards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data @AllArgsConstructor
+@Schema(
+        name = "CardsPage",
+        description = "Schema to hold one page of Card information"
+)
+public class CardsPageDto {
+
+    @Schema(
+            description = "Card details of the page"
+    )
+    private List<CardsDto> cards;
+
+    @Schema(
+            description = "Token to pass as pageToken for the next page, absent on the last page"
+    )
+    private String nextPageToken;
+}
@@ -0,0 +1,25 @@
+package com.eazybytes.cards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data @AllArgsConstructor
+@Schema(
+        name = "DeleteBatchResponse",
+        description = "Schema to hold the outcome of a batch delete"
+)
+public class DeleteBatchResponseDto {
+
+    @Schema(
+            description = "Number of cards deleted", example = "2"
+    )
+    private int deleted;
+
+    @Schema(
+            description = "Mobile numbers without a card, in request order"
+    )
+    private List<String> notFound;
+}
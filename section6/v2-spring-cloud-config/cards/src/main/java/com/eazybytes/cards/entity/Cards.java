@@ -4,6 +4,10 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@Table(name = "cards", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_cards_mobile_number", columnNames = "mobile_number"),
+		@UniqueConstraint(name = "uk_cards_card_number", columnNames = "card_number")
+}, indexes = @Index(name = "idx_cards_card_type", columnList = "card_type, card_id"))
 @Getter
 @Setter
 @ToString
@@ -7,7 +7,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public class CardAlreadyExistsException extends RuntimeException {
 
     public CardAlreadyExistsException(String message){
-        super(message);
+        super(message, null, false, false);
     }
 
 }
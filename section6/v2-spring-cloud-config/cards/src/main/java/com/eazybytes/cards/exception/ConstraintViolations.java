@@ -0,0 +1,32 @@
+package com.eazybytes.cards.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+        // restrict instantiation
+    }
+
+    /**
+     * Tells a duplicate apart from NOT NULL, length and other integrity violations, which are
+     * no "already exists" but a failed request. The exception may come translated by Spring,
+     * as a DataIntegrityViolationException, or straight from an EntityManager flush.
+     *
+     * @param ex - Exception of a failed insert, update or flush
+     * @param constraintName - Name of the unique constraint in schema.sql
+     * @return whether ex was caused by a violation of that constraint
+     */
+    public static boolean violates(Throwable ex, String constraintName) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                // databases report the name in their own case, H2 with its index suffix
+                return violation.getConstraintName() != null && violation.getConstraintName()
+                        .toLowerCase(Locale.ROOT).contains(constraintName);
+            }
+        }
+        return false;
+    }
+}
@@ -38,38 +38,51 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDto> handleGlobalException(Exception exception,
                                                                   WebRequest webRequest) {
-        ErrorResponseDto errorResponseDTO = new ErrorResponseDto(
-                webRequest.getDescription(false),
-                HttpStatus.INTERNAL_SERVER_ERROR,
-                exception.getMessage(),
-                LocalDateTime.now()
-        );
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(errorResponseDTO);
+        return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, HttpStatus.INTERNAL_SERVER_ERROR, exception, webRequest);
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDto> handleResourceNotFoundException(ResourceNotFoundException exception,
                                                                             WebRequest webRequest) {
-        ErrorResponseDto errorResponseDTO = new ErrorResponseDto(
-                webRequest.getDescription(false),
-                HttpStatus.NOT_FOUND,
-                exception.getMessage(),
-                LocalDateTime.now()
-        );
-        return new ResponseEntity<>(errorResponseDTO, HttpStatus.NOT_FOUND);
+        return errorResponse(HttpStatus.NOT_FOUND, HttpStatus.NOT_FOUND, exception, webRequest);
     }
 
     @ExceptionHandler(CardAlreadyExistsException.class)
     public ResponseEntity<ErrorResponseDto> handleCardAlreadyExistsException(CardAlreadyExistsException exception,
                                                                           WebRequest webRequest){
+        return errorResponse(HttpStatus.BAD_REQUEST, HttpStatus.BAD_REQUEST, exception, webRequest);
+    }
+
+    @ExceptionHandler(InvalidPageTokenException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidPageTokenException(InvalidPageTokenException exception,
+                                                                            WebRequest webRequest){
+        return errorResponse(HttpStatus.BAD_REQUEST, HttpStatus.BAD_REQUEST, exception, webRequest);
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponseDto> handleIdempotencyConflictException(IdempotencyConflictException exception,
+                                                                               WebRequest webRequest){
+        return errorResponse(HttpStatus.CONFLICT, HttpStatus.CONFLICT, exception, webRequest);
+    }
+
+    /**
+     * Shared by the handlers above.
+     *
+     * @param errorCode  - Status reported in the body
+     * @param status     - Status of the response
+     * @param exception  - Handled exception, its message becomes the error message
+     * @param webRequest - Current request, its path becomes the api path
+     * @return the error response
+     */
+    private ResponseEntity<ErrorResponseDto> errorResponse(HttpStatus errorCode, HttpStatus status,
+                                                           Exception exception, WebRequest webRequest) {
         ErrorResponseDto errorResponseDTO = new ErrorResponseDto(
-                webRequest.getDescription(false),
-                HttpStatus.BAD_REQUEST,
+                webRequest.getDescription(false), // what is the api path client is trying to invoke
+                errorCode,
                 exception.getMessage(),
                 LocalDateTime.now()
         );
-        return new ResponseEntity<>(errorResponseDTO, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(errorResponseDTO, status);
     }
 
 }
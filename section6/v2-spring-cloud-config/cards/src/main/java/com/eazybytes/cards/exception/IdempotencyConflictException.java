@@ -0,0 +1,17 @@
+package com.eazybytes.cards.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Idempotency-Key sent with a different request than the one it was first used
+ * for, or while that request is still running past the wait timeout.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String idempotencyKey, String reason){
+        super("Idempotency-Key '" + idempotencyKey + "' " + reason, null, false, false);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.eazybytes.cards.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidPageTokenException extends RuntimeException {
+
+    public InvalidPageTokenException(String pageToken){
+        super("Invalid page token '" + pageToken + "'", null, false, false);
+    }
+
+}
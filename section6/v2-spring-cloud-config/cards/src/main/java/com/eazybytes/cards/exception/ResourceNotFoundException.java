@@ -7,6 +7,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public class ResourceNotFoundException extends RuntimeException {
 
     public ResourceNotFoundException(String resourceName, String fieldName, String fieldValue){
-        super(String.format("%s not found with the given input data %s : '%s'", resourceName, fieldName, fieldValue));
+        // same text as "%s not found with the given input data %s : '%s'"
+        super(resourceName + " not found with the given input data " + fieldName + " : '" + fieldValue + "'",
+                null, false, false);
     }
 }
@@ -1,9 +1,17 @@
 package com.eazybytes.cards.repository;
 
+import com.eazybytes.cards.conditional.VersionedCard;
 import com.eazybytes.cards.entity.Cards;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +19,25 @@ public interface CardsRepository extends JpaRepository<Cards, Long> {
 
     Optional<Cards> findByMobileNumber(String mobileNumber);
 
+    // one SELECT straight into the response DTO, with the id, version and audit timestamps of the same row
+    @Query("SELECT new com.eazybytes.cards.conditional.VersionedCard(c.mobileNumber, c.cardNumber, c.cardType, c.totalLimit, c.amountUsed, c.availableAmount, " +
+            "c.cardId, c.version, c.createdAt, c.updatedAt) " +
+            "FROM Cards c WHERE c.mobileNumber = :mobileNumber")
+    Optional<VersionedCard> findVersionedCardByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
     Optional<Cards> findByCardNumber(String cardNumber);
 
+    List<Cards> findByCardIdGreaterThanOrderByCardId(Long cardId, Limit limit);
+
+    List<Cards> findByCardTypeAndCardIdGreaterThanOrderByCardId(String cardType, Long cardId, Limit limit);
+
+    @Query("SELECT c.mobileNumber FROM Cards c WHERE c.mobileNumber IN :mobileNumbers")
+    List<String> findExistingMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    // one DELETE statement, nothing is loaded into the persistence context first
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Cards c WHERE c.mobileNumber IN :mobileNumbers")
+    int deleteByMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
 }
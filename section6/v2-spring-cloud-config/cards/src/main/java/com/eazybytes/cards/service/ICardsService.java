@@ -1,6 +1,11 @@
 package com.eazybytes.cards.service;
 
+import com.eazybytes.cards.conditional.VersionedCard;
 import com.eazybytes.cards.dto.CardsDto;
+import com.eazybytes.cards.dto.CardsPageDto;
+import com.eazybytes.cards.dto.DeleteBatchResponseDto;
+
+import java.util.List;
 
 public interface ICardsService {
 
@@ -17,6 +22,21 @@ public interface ICardsService {
      */
     CardsDto fetchCard(String mobileNumber);
 
+    /**
+     * @param mobileNumber - Input mobile Number
+     * @return Card Details of the mobile number with their ETag and Last-Modified, read from one row
+     */
+    VersionedCard fetchVersionedCard(String mobileNumber);
+
+    /**
+     *
+     * @param cardType - Only list this type of card, null for all
+     * @param pageToken - Token of the previous page, null for the first page
+     * @param pageSize - Maximum number of cards on the page
+     * @return Card Details of the page, in card id order
+     */
+    CardsPageDto listCards(String cardType, String pageToken, int pageSize);
+
     /**
      *
      * @param cardsDto - CardsDto Object
@@ -31,4 +51,11 @@ public interface ICardsService {
      */
     boolean deleteCard(String mobileNumber);
 
+    /**
+     *
+     * @param mobileNumbers - Mobile Numbers of the customers to offboard
+     * @return number of cards deleted and the mobile numbers without a card
+     */
+    DeleteBatchResponseDto deleteCards(List<String> mobileNumbers);
+
 }
@@ -1,35 +1,55 @@
 package com.eazybytes.cards.service.impl;
 
+import com.eazybytes.allocator.NumberAllocator;
+import com.eazybytes.cards.allocator.CardNumbers;
 import com.eazybytes.cards.constants.CardsConstants;
+import com.eazybytes.cards.coalescing.SingleFlight;
+import com.eazybytes.cards.conditional.VersionedCard;
 import com.eazybytes.cards.dto.CardsDto;
+import com.eazybytes.cards.dto.CardsPageDto;
+import com.eazybytes.cards.dto.DeleteBatchResponseDto;
 import com.eazybytes.cards.entity.Cards;
 import com.eazybytes.cards.exception.CardAlreadyExistsException;
+import com.eazybytes.cards.exception.ConstraintViolations;
 import com.eazybytes.cards.exception.ResourceNotFoundException;
 import com.eazybytes.cards.mapper.CardsMapper;
+import com.eazybytes.cards.pagination.PageToken;
 import com.eazybytes.cards.repository.CardsRepository;
 import com.eazybytes.cards.service.ICardsService;
 import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class CardsServiceImpl implements ICardsService {
 
     private CardsRepository cardsRepository;
+    private NumberAllocator numberAllocator;
+    private SingleFlight singleFlight;
 
     /**
      * @param mobileNumber - Mobile Number of the Customer
      */
     @Override
     public void createCard(String mobileNumber) {
-        Optional<Cards> optionalCards= cardsRepository.findByMobileNumber(mobileNumber);
-        if(optionalCards.isPresent()){
+        // uk_cards_mobile_number rejects a duplicate even when two requests race, no lookup needed first
+        try {
+            cardsRepository.save(createNewCard(mobileNumber));
+        } catch (DataIntegrityViolationException ex) {
+            if (!ConstraintViolations.violates(ex, CardsConstants.CARD_MOBILE_NUMBER_CONSTRAINT)) {
+                throw ex;
+            }
             throw new CardAlreadyExistsException("Card already registered with given mobileNumber "+mobileNumber);
         }
-        cardsRepository.save(createNewCard(mobileNumber));
     }
 
     /**
@@ -38,8 +58,7 @@ public class CardsServiceImpl implements ICardsService {
      */
     private Cards createNewCard(String mobileNumber) {
         Cards newCard = new Cards();
-        long randomCardNumber = 100000000000L + new Random().nextInt(900000000);
-        newCard.setCardNumber(Long.toString(randomCardNumber));
+        newCard.setCardNumber(CardNumbers.withCheckDigit(numberAllocator.next()));
         newCard.setMobileNumber(mobileNumber);
         newCard.setCardType(CardsConstants.CREDIT_CARD);
         newCard.setTotalLimit(CardsConstants.NEW_CARD_LIMIT);
@@ -55,10 +74,46 @@ public class CardsServiceImpl implements ICardsService {
      */
     @Override
     public CardsDto fetchCard(String mobileNumber) {
-        Cards cards = cardsRepository.findByMobileNumber(mobileNumber).orElseThrow(
-                () -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
-        );
-        return CardsMapper.mapToCardsDto(cards, new CardsDto());
+        return fetchVersionedCard(mobileNumber).card();
+    }
+
+    /**
+     * @param mobileNumber - Input mobile Number
+     * @return Card Details of the mobile number with their ETag and Last-Modified, read from one row
+     */
+    @Override
+    public VersionedCard fetchVersionedCard(String mobileNumber) {
+        // concurrent fetches of one mobile number share a single query and its DTO
+        return singleFlight.execute("fetchCard", mobileNumber,
+                () -> cardsRepository.findVersionedCardByMobileNumber(mobileNumber).orElseThrow(
+                        () -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
+                ));
+    }
+
+    /**
+     * Seeks past the last cardId of the previous page instead of skipping rows,
+     * so every page costs one index range scan however deep it is.
+     *
+     * @param cardType - Only list this type of card, null for all
+     * @param pageToken - Token of the previous page, null for the first page
+     * @param pageSize - Maximum number of cards on the page
+     * @return Card Details of the page, in card id order
+     */
+    @Override
+    public CardsPageDto listCards(String cardType, String pageToken, int pageSize) {
+        long afterCardId = PageToken.decode(pageToken);
+        // one extra row tells whether another page follows
+        Limit limit = Limit.of(pageSize + 1);
+        List<Cards> cards = cardType == null
+                ? cardsRepository.findByCardIdGreaterThanOrderByCardId(afterCardId, limit)
+                : cardsRepository.findByCardTypeAndCardIdGreaterThanOrderByCardId(cardType, afterCardId, limit);
+        boolean hasNextPage = cards.size() > pageSize;
+        List<Cards> page = hasNextPage ? cards.subList(0, pageSize) : cards;
+        List<CardsDto> cardsDtos = page.stream()
+                .map(card -> CardsMapper.mapToCardsDto(card, new CardsDto()))
+                .toList();
+        String nextPageToken = hasNextPage ? PageToken.encode(page.get(pageSize - 1).getCardId()) : null;
+        return new CardsPageDto(cardsDtos, nextPageToken);
     }
 
     /**
@@ -81,12 +136,35 @@ public class CardsServiceImpl implements ICardsService {
      */
     @Override
     public boolean deleteCard(String mobileNumber) {
-        Cards cards = cardsRepository.findByMobileNumber(mobileNumber).orElseThrow(
-                () -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
-        );
-        cardsRepository.deleteById(cards.getCardId());
+        if (cardsRepository.deleteByMobileNumbers(List.of(mobileNumber)) == 0) {
+            throw new ResourceNotFoundException("Card", "mobileNumber", mobileNumber);
+        }
         return true;
     }
 
+    /**
+     * One SELECT and one DELETE per DELETE_BATCH_IN_LIST_SIZE mobile numbers, all in one transaction.
+     *
+     * @param mobileNumbers - Mobile Numbers of the customers to offboard
+     * @return number of cards deleted and the mobile numbers without a card
+     */
+    @Override
+    @Transactional
+    public DeleteBatchResponseDto deleteCards(List<String> mobileNumbers) {
+        List<String> uniqueMobileNumbers = new ArrayList<>(new LinkedHashSet<>(mobileNumbers));
+        Set<String> existingMobileNumbers = new HashSet<>();
+        int deleted = 0;
+        for (int from = 0; from < uniqueMobileNumbers.size(); from += CardsConstants.DELETE_BATCH_IN_LIST_SIZE) {
+            List<String> inList = uniqueMobileNumbers.subList(from,
+                    Math.min(from + CardsConstants.DELETE_BATCH_IN_LIST_SIZE, uniqueMobileNumbers.size()));
+            existingMobileNumbers.addAll(cardsRepository.findExistingMobileNumbers(inList));
+            deleted += cardsRepository.deleteByMobileNumbers(inList);
+        }
+        List<String> notFound = uniqueMobileNumbers.stream()
+                .filter(mobileNumber -> !existingMobileNumbers.contains(mobileNumber))
+                .toList();
+        return new DeleteBatchResponseDto(deleted, notFound);
+    }
+
 
 }
@@ -1,3 +1,6 @@
+-- each call reserves a block of 1000 card numbers, see NumberAllocator
+CREATE SEQUENCE IF NOT EXISTS `card_number_seq` START WITH 1 INCREMENT BY 1000;
+
 CREATE TABLE IF NOT EXISTS `cards` (
   `card_id` int NOT NULL AUTO_INCREMENT,
   `mobile_number` varchar(15) NOT NULL,
@@ -6,9 +9,15 @@ CREATE TABLE IF NOT EXISTS `cards` (
   `total_limit` int NOT NULL,
   `amount_used` int NOT NULL,
   `available_amount` int NOT NULL,
-  `created_at` date NOT NULL,
+  `created_at` timestamp NOT NULL,
   `created_by` varchar(20) NOT NULL,
-  `updated_at` date DEFAULT NULL,
+  `updated_at` timestamp DEFAULT NULL,
   `updated_by` varchar(20) DEFAULT NULL,
-  PRIMARY KEY (`card_id`)
-);
\ No newline at end of file
+  `version` bigint DEFAULT 0 NOT NULL,
+  PRIMARY KEY (`card_id`),
+  CONSTRAINT `uk_cards_mobile_number` UNIQUE (`mobile_number`),
+  CONSTRAINT `uk_cards_card_number` UNIQUE (`card_number`)
+);
+
+-- keyset listing filtered by type seeks on (card_type, card_id)
+CREATE INDEX IF NOT EXISTS `idx_cards_card_type` ON `cards` (`card_type`, `card_id`);
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.eazybytes.cards.allocator;
+
+import com.eazybytes.cards.constants.CardsConstants;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardNumbersTests {
+
+    @Test
+    void appendsTheLuhnCheckDigit() {
+        // the textbook example, 7992739871 checks with 3
+        assertEquals(3, CardNumbers.luhnCheckDigit(7992739871L));
+        assertEquals(0, CardNumbers.luhnCheckDigit(0L));
+
+        for (long payload = CardsConstants.CARD_NUMBER_BASE; payload < CardsConstants.CARD_NUMBER_BASE + 100; payload++) {
+            String cardNumber = CardNumbers.withCheckDigit(payload);
+            assertEquals(12, cardNumber.length());
+            assertTrue(passesLuhn(cardNumber), cardNumber);
+        }
+    }
+
+    /**
+     * Plain Luhn check, independent of luhnCheckDigit: double every second digit from the right.
+     */
+    private static boolean passesLuhn(String number) {
+        int sum = 0;
+        for (int i = 0; i < number.length(); i++) {
+            int digit = number.charAt(number.length() - 1 - i) - '0';
+            if (i % 2 == 1) {
+                digit = digit * 2 > 9 ? digit * 2 - 9 : digit * 2;
+            }
+            sum += digit;
+        }
+        return sum % 10 == 0;
+    }
+}
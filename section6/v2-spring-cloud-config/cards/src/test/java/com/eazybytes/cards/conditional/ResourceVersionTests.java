@@ -0,0 +1,59 @@
+package com.eazybytes.cards.conditional;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourceVersionTests {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 9, 30);
+
+    @Test
+    void givesTheSameTagForTheSameRow() {
+        assertEquals(new ResourceVersion(1L, 0L, CREATED_AT, null), new ResourceVersion(1L, 0L, CREATED_AT, null));
+    }
+
+    @Test
+    void movesTheTagWithEveryUpdate() {
+        LocalDateTime updatedAt = CREATED_AT.plusMinutes(5);
+        assertNotEquals(new ResourceVersion(1L, 1L, CREATED_AT, updatedAt).eTag(),
+                new ResourceVersion(1L, 2L, CREATED_AT, updatedAt).eTag());
+    }
+
+    @Test
+    void movesTheTagWhenTheRowIsRecreated() {
+        assertNotEquals(new ResourceVersion(1L, 0L, CREATED_AT, null).eTag(),
+                new ResourceVersion(2L, 0L, CREATED_AT, null).eTag());
+        assertNotEquals(new ResourceVersion(1L, 11L, CREATED_AT, null).eTag(),
+                new ResourceVersion(11L, 1L, CREATED_AT, null).eTag());
+    }
+
+    @Test
+    void givesAQuotedStrongTag() {
+        String eTag = new ResourceVersion(1L, 0L, CREATED_AT, null).eTag();
+        assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""), eTag);
+    }
+
+    @Test
+    void takesLastModifiedFromTheNewestTimestampWithItsTimeOfDay() {
+        LocalDateTime morningUpdate = CREATED_AT.plusHours(1);
+        LocalDateTime eveningUpdate = CREATED_AT.plusHours(9);
+        assertEquals(epochMillis(CREATED_AT), new ResourceVersion(1L, 0L, CREATED_AT, null).lastModified());
+        assertEquals(epochMillis(morningUpdate), new ResourceVersion(1L, 1L, CREATED_AT, morningUpdate).lastModified());
+        assertEquals(epochMillis(eveningUpdate), new ResourceVersion(1L, 2L, CREATED_AT, eveningUpdate).lastModified());
+    }
+
+    @Test
+    void hasNoLastModifiedWithoutTimestamps() {
+        assertEquals(-1, new ResourceVersion(1L, 0L, null, null).lastModified());
+    }
+
+    private static long epochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
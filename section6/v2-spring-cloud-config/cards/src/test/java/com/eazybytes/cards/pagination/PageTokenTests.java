@@ -0,0 +1,44 @@
+package com.eazybytes.cards.pagination;
+
+import com.eazybytes.cards.exception.InvalidPageTokenException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageTokenTests {
+
+    @Test
+    void resumesAfterTheEncodedId() {
+        assertEquals(1L, PageToken.decode(PageToken.encode(1L)));
+        assertEquals(Long.MAX_VALUE, PageToken.decode(PageToken.encode(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void startsAtTheFirstPageWithoutToken() {
+        assertEquals(0L, PageToken.decode(null));
+        assertEquals(0L, PageToken.decode(""));
+    }
+
+    @Test
+    void isUrlSafe() {
+        assertEquals(-1, PageToken.encode(Long.MAX_VALUE).indexOf('='));
+        assertEquals(PageToken.encode(42L), PageToken.encode(42L).replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not a token!", "loans:42", "cards:", "cards:0", "cards:-5", "cards:abc"})
+    void rejectsForeignAndMalformedTokens(String value) {
+        String pageToken = value.contains(":") ? base64(value) : value;
+        assertThrows(InvalidPageTokenException.class, () -> PageToken.decode(pageToken));
+    }
+
+    private static String base64(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
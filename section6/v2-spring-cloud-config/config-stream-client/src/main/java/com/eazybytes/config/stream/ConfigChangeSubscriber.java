@@ -0,0 +1,246 @@
+package com.eazybytes.config.stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Applies the config changes the config server pushes on its /changes/{application}/{profile}
+ * Server-Sent-Events stream, without RabbitMQ and without re-fetching the environment.
+ * Changed values go into a property source in front of the ones loaded from the config
+ * server, behind system properties and environment variables, and an EnvironmentChangeEvent
+ * rebinds the @ConfigurationProperties beans. Removed keys, and a version the stream can't
+ * diff from, fall back to a full refresh through ContextRefresher.
+ * Any refresh, this class's own or one through /actuator/refresh or /actuator/busrefresh,
+ * drops the changes applied so far, the reloaded environment is at least as new. A dropped
+ * stream is reopened after config-stream.retry-interval with the version last applied.
+ */
+public class ConfigChangeSubscriber implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigChangeSubscriber.class);
+    private static final String PROPERTY_SOURCE_NAME = "configServerChanges";
+    // property sources loaded from the config server, and the local config files below them
+    private static final String CONFIG_SERVER_SOURCE_PREFIX = "configserver:";
+    private static final String CONFIG_CLIENT_SOURCE_NAME = "configClient";
+    private static final String CONFIG_FILE_SOURCE_PREFIX = "Config resource";
+    // set by the config client to the commit the environment was loaded from
+    private static final String VERSION_PROPERTY = "config.client.version";
+
+    private final ConfigurableEnvironment environment;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContextRefresher contextRefresher;
+    private final ObjectMapper objectMapper;
+    private final String streamUrl;
+    private final Duration retryInterval;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private volatile Thread thread;
+    private volatile Stream<String> openStream;
+    private volatile String version;
+
+    /**
+     * @param serverUrl     - Base URL of the config server
+     * @param application   - Name the service loads its config under
+     * @param retryInterval - Wait before reopening a dropped stream
+     */
+    public ConfigChangeSubscriber(ConfigurableEnvironment environment, ApplicationEventPublisher eventPublisher,
+                                  ContextRefresher contextRefresher, ObjectMapper objectMapper,
+                                  String serverUrl, String application, Duration retryInterval) {
+        this.environment = environment;
+        this.eventPublisher = eventPublisher;
+        this.contextRefresher = contextRefresher;
+        this.objectMapper = objectMapper;
+        String[] profiles = environment.getActiveProfiles();
+        this.streamUrl = serverUrl + "/changes/" + application + "/"
+                + (profiles.length == 0 ? "default" : String.join(",", profiles));
+        this.retryInterval = retryInterval;
+    }
+
+    @Override
+    public void start() {
+        version = environment.getProperty(VERSION_PROPERTY);
+        Thread subscriber = new Thread(this::subscribe, "config-change-stream");
+        subscriber.setDaemon(true);
+        thread = subscriber;
+        subscriber.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread subscriber = thread;
+        thread = null;
+        Stream<String> stream = openStream;
+        if (stream != null) {
+            stream.close();
+        }
+        if (subscriber != null) {
+            subscriber.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    private void subscribe() {
+        while (thread == Thread.currentThread()) {
+            try {
+                readStream();
+            } catch (IOException | RuntimeException ex) {
+                logger.debug("Config change stream {} dropped: {}", streamUrl, ex.getMessage());
+            } catch (InterruptedException ex) {
+                return;
+            }
+            try {
+                Thread.sleep(retryInterval.toMillis());
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+
+    private void readStream() throws IOException, InterruptedException {
+        String uri = version == null ? streamUrl
+                : streamUrl + "?version=" + URLEncoder.encode(version, StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri))
+                .header("Accept", "text/event-stream")
+                .GET().build();
+        HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() != 200) {
+                logger.debug("Config change stream {} answered {}", streamUrl, response.statusCode());
+                return;
+            }
+            openStream = lines;
+            String event = "message";
+            StringBuilder data = new StringBuilder();
+            for (Iterator<String> iterator = lines.iterator(); iterator.hasNext(); ) {
+                String line = iterator.next();
+                if (line.isEmpty()) {
+                    if (!data.isEmpty()) {
+                        dispatch(event, objectMapper.readTree(data.toString()));
+                    }
+                    event = "message";
+                    data.setLength(0);
+                } else if (line.startsWith("event:")) {
+                    event = line.substring("event:".length()).trim();
+                } else if (line.startsWith("data:")) {
+                    data.append(line.substring("data:".length()).trim());
+                }
+            }
+        } finally {
+            openStream = null;
+        }
+    }
+
+    private void dispatch(String event, JsonNode data) {
+        String newVersion = data.path("version").asText(null);
+        if ("refresh-required".equals(event)
+                || ("change".equals(event) && !data.path("removed").isEmpty())) {
+            refresh(newVersion);
+        } else if ("change".equals(event)) {
+            Map<String, Object> changed = new HashMap<>();
+            data.path("changed").fields().forEachRemaining(entry ->
+                    changed.put(entry.getKey(), entry.getValue().asText()));
+            apply(newVersion, changed);
+        }
+    }
+
+    private void apply(String newVersion, Map<String, Object> changed) {
+        MutablePropertySources propertySources = environment.getPropertySources();
+        MapPropertySource changes = (MapPropertySource) propertySources.get(PROPERTY_SOURCE_NAME);
+        if (changes == null) {
+            changes = new MapPropertySource(PROPERTY_SOURCE_NAME, new ConcurrentHashMap<>());
+            addBeforeConfigData(propertySources, changes);
+        }
+        changes.getSource().putAll(changed);
+        version = newVersion;
+        logger.info("Applied config changes of {} from the config server: {}", newVersion, changed.keySet());
+        eventPublisher.publishEvent(new OverlayChangeEvent(changed.keySet()));
+    }
+
+    /**
+     * Reloads the whole environment from the config server, onEnvironmentChange then drops
+     * the changes applied so far.
+     */
+    private void refresh(String newVersion) {
+        logger.info("Refreshing the whole config for version {}: {}", newVersion, contextRefresher.refresh());
+        String loadedVersion = environment.getProperty(VERSION_PROPERTY);
+        version = loadedVersion != null ? loadedVersion : newVersion;
+    }
+
+    /**
+     * Another refresh has reloaded the environment, an applied change would keep shadowing
+     * whatever it loaded if an event of the stream was missed. Ordered first, so the changes
+     * are dropped before the properties are rebound for this event.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event instanceof OverlayChangeEvent) {
+            return;
+        }
+        PropertySource<?> changes = environment.getPropertySources().remove(PROPERTY_SOURCE_NAME);
+        if (changes instanceof MapPropertySource mapChanges && !mapChanges.getSource().isEmpty()) {
+            // the refresh compared its keys with the changes still in place, rebind the ones they shadowed
+            eventPublisher.publishEvent(new OverlayChangeEvent(Set.copyOf(mapChanges.getSource().keySet())));
+        }
+    }
+
+    /**
+     * Below system properties and environment variables, so a docker-compose SPRING_* variable
+     * still wins over a changed value as it did over the loaded one; above everything the
+     * config server and the local config files set.
+     */
+    private static void addBeforeConfigData(MutablePropertySources propertySources, PropertySource<?> changes) {
+        for (PropertySource<?> propertySource : propertySources) {
+            String name = propertySource.getName();
+            if (name.startsWith(CONFIG_SERVER_SOURCE_PREFIX) || name.equals(CONFIG_CLIENT_SOURCE_NAME)
+                    || name.startsWith(CONFIG_FILE_SOURCE_PREFIX)) {
+                propertySources.addBefore(name, changes);
+                return;
+            }
+        }
+        propertySources.addLast(changes);
+    }
+
+    /**
+     * Published for the keys whose value the applied changes set or stopped setting.
+     */
+    private static final class OverlayChangeEvent extends EnvironmentChangeEvent {
+
+        private OverlayChangeEvent(Set<String> keys) {
+            super(keys);
+        }
+    }
+}
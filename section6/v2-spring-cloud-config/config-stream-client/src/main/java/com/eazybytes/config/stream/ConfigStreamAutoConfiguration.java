@@ -0,0 +1,51 @@
+package com.eazybytes.config.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.autoconfigure.ConfigurationPropertiesRebinderAutoConfiguration;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesBeans;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.time.Duration;
+
+/**
+ * Subscribes a service with this jar to the config server's change stream when
+ * config-stream.enabled is true. When config-refresh.targeted is true, its own
+ * @ConfigurationProperties beans are hot-swapped and a refresh only rebinds the beans
+ * it touches; ordered before Spring Cloud's rebinder, which then backs off.
+ */
+@AutoConfiguration(before = ConfigurationPropertiesRebinderAutoConfiguration.class)
+@ConditionalOnClass(ContextRefresher.class)
+public class ConfigStreamAutoConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "config-stream.enabled", havingValue = "true")
+    public ConfigChangeSubscriber configChangeSubscriber(ConfigurableEnvironment environment,
+                                                         ApplicationEventPublisher eventPublisher,
+                                                         ContextRefresher contextRefresher, ObjectMapper objectMapper,
+                                                         @Value("${config-stream.url}") String serverUrl,
+                                                         @Value("${spring.application.name}") String application,
+                                                         @Value("${config-stream.retry-interval:5s}") Duration retryInterval) {
+        return new ConfigChangeSubscriber(environment, eventPublisher, contextRefresher, objectMapper,
+                serverUrl, application, retryInterval);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "config-refresh.targeted", havingValue = "true")
+    public static HotSwapPropertiesPostProcessor hotSwapPropertiesPostProcessor() {
+        return new HotSwapPropertiesPostProcessor();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "config-refresh.targeted", havingValue = "true")
+    public TargetedConfigurationPropertiesRebinder configurationPropertiesRebinder(
+            ConfigurationPropertiesBeans beans, HotSwapPropertiesPostProcessor hotSwapProperties) {
+        return new TargetedConfigurationPropertiesRebinder(beans, hotSwapProperties);
+    }
+}
@@ -0,0 +1,128 @@
+package com.eazybytes.config.stream;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.target.HotSwappableTargetSource;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out the service's own @ConfigurationProperties beans, the ones in the packages of
+ * its @SpringBootApplication class, behind a proxy whose target can be swapped in one step.
+ * A rebind binds the current environment into a fresh instance and only then swaps it in,
+ * so a request always reads a fully bound object, the old one or the new one, never one
+ * being rebound. Beans of other packages are left as they are and rebound in place. Code
+ * that reads several properties, or hands the bean to Jackson, takes a snapshot(...) first,
+ * each call on the proxy itself may already go to the next instance.
+ */
+public class HotSwapPropertiesPostProcessor implements BeanPostProcessor, BeanFactoryAware, EnvironmentAware {
+
+    private final Map<String, SwappableProperties> swappableProperties = new ConcurrentHashMap<>();
+    private BeanFactory beanFactory;
+    private Environment environment;
+    private volatile List<String> ownPackages;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!isOwn(bean.getClass().getPackageName())) {
+            return bean;
+        }
+        ConfigurationProperties annotation = AnnotationUtils.findAnnotation(bean.getClass(), ConfigurationProperties.class);
+        if (annotation == null) {
+            return bean;
+        }
+        HotSwappableTargetSource targetSource = new HotSwappableTargetSource(bean);
+        swappableProperties.put(beanName, new SwappableProperties(annotation.prefix(), bean.getClass(), targetSource));
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTargetSource(targetSource);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.setOpaque(true);
+        proxyFactory.addInterface(Snapshot.class);
+        // the target fetched for this call is the instance current at the time
+        proxyFactory.addAdvice((MethodInterceptor) invocation ->
+                invocation.getMethod().getDeclaringClass() == Snapshot.class
+                        ? invocation.getThis() : invocation.proceed());
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private boolean isOwn(String packageName) {
+        List<String> packages = ownPackages;
+        if (packages == null) {
+            // registered by @SpringBootApplication before any bean is created
+            packages = AutoConfigurationPackages.has(beanFactory) ? AutoConfigurationPackages.get(beanFactory) : List.of();
+            ownPackages = packages;
+        }
+        for (String ownPackage : packages) {
+            if (packageName.equals(ownPackage) || packageName.startsWith(ownPackage + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param properties - A @ConfigurationProperties bean, swappable or not
+     * @return the instance currently behind it, which no rebind changes
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T snapshot(T properties) {
+        return properties instanceof Snapshot snapshot ? (T) snapshot.snapshot() : properties;
+    }
+
+    /**
+     * @param beanName - Name of a @ConfigurationProperties bean
+     * @return its prefix if it is swappable, null otherwise
+     */
+    public String prefix(String beanName) {
+        SwappableProperties properties = swappableProperties.get(beanName);
+        return properties == null ? null : properties.prefix();
+    }
+
+    /**
+     * Binds the environment into a fresh instance of the bean and swaps it in.
+     *
+     * @param beanName - Name of a @ConfigurationProperties bean
+     * @return false if the bean isn't swappable and has to be rebound in place
+     */
+    public boolean rebind(String beanName) {
+        SwappableProperties properties = swappableProperties.get(beanName);
+        if (properties == null) {
+            return false;
+        }
+        Object rebound = BeanUtils.instantiateClass(properties.type());
+        Binder.get(environment).bind(properties.prefix(), Bindable.ofInstance(rebound));
+        properties.targetSource().swap(rebound);
+        return true;
+    }
+
+    // public, the proxy classes live in the packages of the beans
+    public interface Snapshot {
+        Object snapshot();
+    }
+
+    private record SwappableProperties(String prefix, Class<?> type, HotSwappableTargetSource targetSource) {
+    }
+}
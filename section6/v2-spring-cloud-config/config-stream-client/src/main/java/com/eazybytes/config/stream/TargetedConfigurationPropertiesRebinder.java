@@ -0,0 +1,98 @@
+package com.eazybytes.config.stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBean;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesBeans;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Targeted refresh mode, replacing Spring Cloud's rebinder that rebinds every
+ * @ConfigurationProperties bean on each refresh (/actuator/refresh, /actuator/busrefresh,
+ * the config change stream). Only the beans whose prefix covers one of the changed keys
+ * of the EnvironmentChangeEvent are rebound, so a change of the service's contact info
+ * leaves the server, datasource and management properties alone. The service's own
+ * beans are swapped in atomically by HotSwapPropertiesPostProcessor.
+ */
+public class TargetedConfigurationPropertiesRebinder extends ConfigurationPropertiesRebinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TargetedConfigurationPropertiesRebinder.class);
+
+    private final ConfigurationPropertiesBeans beans;
+    private final HotSwapPropertiesPostProcessor hotSwapProperties;
+    private ApplicationContext applicationContext;
+
+    public TargetedConfigurationPropertiesRebinder(ConfigurationPropertiesBeans beans,
+                                                   HotSwapPropertiesPostProcessor hotSwapProperties) {
+        super(beans);
+        this.beans = beans;
+        this.hotSwapProperties = hotSwapProperties;
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        super.setApplicationContext(applicationContext);
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void onApplicationEvent(EnvironmentChangeEvent event) {
+        // same filter as the rebinder it replaces, events of this context or without one
+        if (!applicationContext.equals(event.getSource()) && !event.getKeys().equals(event.getSource())) {
+            return;
+        }
+        List<String> rebound = new ArrayList<>();
+        for (String name : beans.getBeanNames()) {
+            String prefix = prefix(name);
+            if ((prefix == null || touches(prefix, event.getKeys())) && rebind(name)) {
+                rebound.add(name);
+            }
+        }
+        logger.debug("Rebound {} of {} @ConfigurationProperties beans for {}: {}",
+                rebound.size(), beans.getBeanNames().size(), event.getKeys(), rebound);
+    }
+
+    @Override
+    public boolean rebind(String name) {
+        return hotSwapProperties.rebind(name) || super.rebind(name);
+    }
+
+    /**
+     * @return prefix of the bean, null if it can't be told and the bean has to be rebound anyway
+     */
+    private String prefix(String name) {
+        String prefix = hotSwapProperties.prefix(name);
+        if (prefix != null) {
+            return prefix;
+        }
+        ConfigurationPropertiesBean bean = ConfigurationPropertiesBean.get(applicationContext,
+                applicationContext.getBean(name), name);
+        return bean == null ? null : bean.getAnnotation().prefix();
+    }
+
+    private static boolean touches(String prefix, Set<String> keys) {
+        if (prefix.isEmpty()) {
+            return true;
+        }
+        ConfigurationPropertyName prefixName = ConfigurationPropertyName.of(prefix);
+        for (String key : keys) {
+            // environment variable style keys have no dots to compare by, assume they touch everything
+            if (!key.contains(".")) {
+                return true;
+            }
+            ConfigurationPropertyName keyName = ConfigurationPropertyName.adapt(key, '.');
+            if (prefixName.equals(keyName) || prefixName.isAncestorOf(keyName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
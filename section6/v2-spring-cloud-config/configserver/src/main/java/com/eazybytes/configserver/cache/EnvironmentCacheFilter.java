@@ -0,0 +1,194 @@
+package com.eazybytes.configserver.cache;
+
+import com.eazybytes.configserver.sync.GitMirrorSync;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the rendered responses of the environment endpoints, /{application}/{profile}[/{label}]
+ * and the /[{label}/]{application}-{profile}.yml|.yaml|.properties|.json forms, keyed by the
+ * request and the commit its label points at in the GitMirrorSync mirror. Each 200 carries that
+ * pair as a strong ETag, so a client revalidating with If-None-Match gets a 304 from memory (the
+ * Spring config client doesn't revalidate, this serves plain HTTP pollers such as
+ * ConfigPollLoadTest), and a miss on a known commit is answered from memory without re-reading
+ * and re-merging the YAML files or decrypting them again. Concurrent misses on one key, such as
+ * the burst of polls right after a push, wait for a single render and share it; if that render
+ * doesn't end in a 200, each of them renders on its own. Responses other than a 200 are passed
+ * on as they are, without an ETag, and are neither cached nor validated. A push moves the label to
+ * a new commit and so to new keys; entries of old commits are no longer reachable and age out.
+ * Labels the mirror doesn't know and plain text resources are passed through uncached.
+ * Until GitMirrorSync has a mirror to serve from, every request that would read the
+ * repository gets a 503 with a Retry-After, the server is up but has nothing to serve yet.
+ * A refresh that changes an encrypt.* property drops every entry, their decrypted values
+ * may no longer hold under the new key.
+ */
+@Component
+@ConditionalOnProperty(name = "git-sync.enabled", havingValue = "true")
+public class EnvironmentCacheFilter extends OncePerRequestFilter implements ApplicationListener<EnvironmentChangeEvent> {
+
+    // first path segments of the server's other endpoints
+    private static final Set<String> NON_ENVIRONMENT_PATHS = Set.of(
+            "actuator", "monitor", "encrypt", "decrypt", "busrefresh", "busenv", "changes", "error");
+    private static final Set<String> DOCUMENT_EXTENSIONS = Set.of(".yml", ".yaml", ".properties", ".json");
+    // seconds a client is asked to wait while the first sync runs
+    private static final String NOT_READY_RETRY_AFTER = "5";
+
+    private final GitMirrorSync gitMirrorSync;
+    private final String defaultLabel;
+    private final Cache<String, CachedResponse> responses;
+    // renders in progress by key, completed with their response, null if it isn't cached
+    private final ConcurrentMap<String, CompletableFuture<CachedResponse>> rendering = new ConcurrentHashMap<>();
+
+    public EnvironmentCacheFilter(GitMirrorSync gitMirrorSync, MeterRegistry meterRegistry,
+                                  @Value("${spring.cloud.config.server.git.default-label:main}") String defaultLabel,
+                                  @Value("${environment-cache.maximum-size:1000}") long maximumSize,
+                                  @Value("${environment-cache.expire-after-access:10m}") Duration expireAfterAccess) {
+        this.gitMirrorSync = gitMirrorSync;
+        this.defaultLabel = defaultLabel;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "environments");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!gitMirrorSync.isReady() && readsRepository(path)) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, NOT_READY_RETRY_AFTER);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Config repository mirror not synced yet");
+            return;
+        }
+        String label = label(path);
+        String commit = label == null ? null : gitMirrorSync.commitOf(label);
+        if (commit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = commit + " " + request.getRequestURI() + "?" + request.getQueryString()
+                + " " + request.getHeader(HttpHeaders.ACCEPT);
+        String eTag = "\"" + commit + "-" + Integer.toHexString(key.hashCode()) + "\"";
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached == null) {
+            CompletableFuture<CachedResponse> started = new CompletableFuture<>();
+            CompletableFuture<CachedResponse> running = rendering.putIfAbsent(key, started);
+            if (running == null) {
+                render(request, response, filterChain, key, eTag, started);
+                return;
+            }
+            cached = running.join();
+            if (cached == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+        }
+        // sets the ETag, or answers 304 if the client has it
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return;
+        }
+        response.setContentType(cached.contentType());
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    private void render(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                        String key, String eTag, CompletableFuture<CachedResponse> started)
+            throws ServletException, IOException {
+        try {
+            ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(request, responseWrapper);
+            if (responseWrapper.getStatus() == HttpServletResponse.SC_OK) {
+                CachedResponse rendered = new CachedResponse(responseWrapper.getContentType(),
+                        responseWrapper.getContentAsByteArray());
+                responses.put(key, rendered);
+                started.complete(rendered);
+                if (new ServletWebRequest(request, responseWrapper).checkNotModified(eTag)) {
+                    // the buffered body is dropped
+                    return;
+                }
+            }
+            responseWrapper.copyBodyToResponse();
+        } finally {
+            // cached before it is removed here, so a request arriving in between finds one or the other
+            rendering.remove(key, started);
+            started.complete(null);
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith("encrypt."))) {
+            responses.invalidateAll();
+        }
+    }
+
+    /**
+     * @param path - Request path below the context path
+     * @return true for environment requests and plain text resources
+     */
+    private static boolean readsRepository(String path) {
+        String firstSegment = (path.startsWith("/") ? path.substring(1) : path).split("/")[0];
+        return !firstSegment.isEmpty() && !NON_ENVIRONMENT_PATHS.contains(firstSegment);
+    }
+
+    /**
+     * @param path - Request path below the context path
+     * @return label the path asks for, the default label if it names none, null if it is no environment request
+     */
+    private String label(String path) {
+        String[] segments = path.startsWith("/") ? path.substring(1).split("/") : path.split("/");
+        if (segments.length == 0 || segments[0].isEmpty() || NON_ENVIRONMENT_PATHS.contains(segments[0])) {
+            return null;
+        }
+        boolean document = DOCUMENT_EXTENSIONS.stream().anyMatch(segments[segments.length - 1]::endsWith);
+        if (document) {
+            // /{application}-{profile}.yml or /{label}/{application}-{profile}.yml
+            return switch (segments.length) {
+                case 1 -> defaultLabel;
+                case 2 -> segments[0];
+                default -> null;
+            };
+        }
+        // /{application}/{profile} or /{application}/{profile}/{label}, longer paths are plain text resources
+        return switch (segments.length) {
+            case 2 -> defaultLabel;
+            case 3 -> segments[2];
+            default -> null;
+        };
+    }
+
+    private record CachedResponse(String contentType, byte[] body) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.eazybytes.configserver.encryption;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cloud.config.server.encryption.TextEncryptorLocator;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers what every {cipher} value decrypted to, per cipher text, key selection
+ * ({key:...} and {secret:...} prefixes) and key version, so environment requests
+ * only run the crypto for values they haven't seen. On every change of the encrypt.*
+ * properties, see DecryptCachePostProcessor, the locator is swapped for one built from
+ * the new key and the key version moves, taking the whole cache with it, so a rotated
+ * key is used from the next decrypt on. Values
+ * that fail to decrypt are not remembered. Decrypts are timed in
+ * configserver.decrypt, the hit ratio is in the cache.* metrics of "decrypted".
+ */
+public class CachingTextEncryptorLocator implements TextEncryptorLocator {
+
+    private volatile TextEncryptorLocator delegate;
+    private final Cache<DecryptKey, String> decrypted;
+    private final Timer decryptTimer;
+    private final AtomicLong keyVersion = new AtomicLong();
+
+    public CachingTextEncryptorLocator(TextEncryptorLocator delegate, MeterRegistry meterRegistry, long maximumSize) {
+        this.delegate = delegate;
+        this.decrypted = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.decryptTimer = Timer.builder("configserver.decrypt")
+                .description("Time taken to decrypt {cipher} values not found in the decrypted cache")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, decrypted, "decrypted");
+    }
+
+    @Override
+    public TextEncryptor locate(Map<String, String> keys) {
+        Map<String, String> keySelection = Map.copyOf(keys);
+        return new TextEncryptor() {
+            @Override
+            public String encrypt(String text) {
+                return delegate.locate(keySelection).encrypt(text);
+            }
+
+            @Override
+            public String decrypt(String encryptedText) {
+                // the version first: a new one is only ever seen with the locator set before it
+                long version = keyVersion.get();
+                TextEncryptorLocator locator = delegate;
+                return decrypted.get(new DecryptKey(version, keySelection, encryptedText),
+                        key -> decryptTimer.record(() -> locator.locate(keySelection).decrypt(encryptedText)));
+            }
+        };
+    }
+
+    /**
+     * Decrypts with the given locator from now on and forgets every decrypted value.
+     *
+     * @param delegate - Locator of the new keys
+     */
+    public void rotateKeys(TextEncryptorLocator delegate) {
+        this.delegate = delegate;
+        keyVersion.incrementAndGet();
+        decrypted.invalidateAll();
+    }
+
+    private record DecryptKey(long keyVersion, Map<String, String> keySelection, String encryptedText) {
+    }
+}
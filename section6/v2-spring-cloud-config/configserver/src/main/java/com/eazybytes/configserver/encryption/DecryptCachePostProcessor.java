@@ -0,0 +1,75 @@
+package com.eazybytes.configserver.encryption;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.bootstrap.encrypt.KeyProperties;
+import org.springframework.cloud.config.server.encryption.SingleTextEncryptorLocator;
+import org.springframework.cloud.config.server.encryption.TextEncryptorLocator;
+import org.springframework.cloud.context.encrypt.EncryptorFactory;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Puts a CachingTextEncryptorLocator in front of the server's TextEncryptorLocator,
+ * the one the environment endpoints and /decrypt decrypt {cipher} values with. When a
+ * refresh changes an encrypt.* property, the locator is rebuilt from the new encrypt.key
+ * and salt and the cache rotated to it. Key stores (encrypt.key-store.*) are not rebuilt,
+ * a new key store still needs a restart.
+ */
+@Component
+public class DecryptCachePostProcessor implements BeanPostProcessor, ApplicationListener<EnvironmentChangeEvent> {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Environment environment;
+    private final long maximumSize;
+    private final List<CachingTextEncryptorLocator> locators = new CopyOnWriteArrayList<>();
+
+    public DecryptCachePostProcessor(ObjectProvider<MeterRegistry> meterRegistry, Environment environment,
+                                     @Value("${decrypt-cache.maximum-size:10000}") long maximumSize) {
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof TextEncryptorLocator locator && !(bean instanceof CachingTextEncryptorLocator)) {
+            CachingTextEncryptorLocator cachingLocator =
+                    new CachingTextEncryptorLocator(locator, meterRegistry.getObject(), maximumSize);
+            locators.add(cachingLocator);
+            return cachingLocator;
+        }
+        return bean;
+    }
+
+    @Override
+    public void onApplicationEvent(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith("encrypt."))) {
+            TextEncryptorLocator rotated = locatorOfCurrentKey();
+            if (rotated != null) {
+                locators.forEach(locator -> locator.rotateKeys(rotated));
+            }
+        }
+    }
+
+    /**
+     * @return locator of encrypt.key as the environment has it now, null if no key is set
+     */
+    private TextEncryptorLocator locatorOfCurrentKey() {
+        KeyProperties keyProperties = Binder.get(environment).bindOrCreate("encrypt", KeyProperties.class);
+        if (!StringUtils.hasText(keyProperties.getKey())) {
+            return null;
+        }
+        return new SingleTextEncryptorLocator(
+                new EncryptorFactory(keyProperties.getSalt()).create(keyProperties.getKey().trim()));
+    }
+}
@@ -0,0 +1,177 @@
+package com.eazybytes.configserver.stream;
+
+import com.eazybytes.configserver.sync.ConfigRepositoryUpdatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.environment.EnvironmentController;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Server-Sent-Events stream of config changes, so clients learn about a push without
+ * a broker and without re-fetching their environment. A client subscribes to
+ * /changes/{application}/{profile} with the version (commit) of the config it runs
+ * on. Whenever GitMirrorSync moves the mirror, the environment of every subscribed
+ * application, profile and label is rendered once, decrypted like /{application}/{profile},
+ * and compared with the previous rendering; subscribers get a "change" event with the
+ * changed keys and their new values and the removed keys. A subscriber whose version is
+ * already behind when it connects gets a "refresh-required" event instead, it can't
+ * catch up from a diff.
+ */
+@RestController
+@ConditionalOnProperty(name = "git-sync.enabled", havingValue = "true")
+public class ConfigChangeStreamController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigChangeStreamController.class);
+
+    private final EnvironmentController environmentController;
+    private final String defaultLabel;
+    private final long timeoutMillis;
+    private final Map<Subscription, Subscribers> subscriptions = new ConcurrentHashMap<>();
+
+    public ConfigChangeStreamController(EnvironmentController environmentController,
+                                        @Value("${spring.cloud.config.server.git.default-label:main}") String defaultLabel,
+                                        @Value("${config-stream.timeout:30m}") Duration timeout) {
+        this.environmentController = environmentController;
+        this.defaultLabel = defaultLabel;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * @param application - Application name, as in /{application}/{profile}
+     * @param profile     - Comma separated profiles
+     * @param label       - Branch, tag or commit, the default label if absent
+     * @param version     - Version of the config the client runs on, absent if unknown
+     * @return stream of change events, closed after config-stream.timeout for the client to reconnect
+     */
+    @GetMapping(path = "/changes/{application}/{profile}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable String application, @PathVariable String profile,
+                                @RequestParam(required = false) String label,
+                                @RequestParam(required = false) String version) throws IOException {
+        Subscription subscription = new Subscription(application, profile, label == null ? defaultLabel : label);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        // added under the map's lock, so onRepositoryUpdated never drops a group it is joining
+        Subscribers subscribers = subscriptions.compute(subscription, (key, existing) -> {
+            Subscribers joined = existing == null ? new Subscribers() : existing;
+            joined.emitters.add(emitter);
+            return joined;
+        });
+        emitter.onCompletion(() -> subscribers.emitters.remove(emitter));
+        emitter.onTimeout(() -> subscribers.emitters.remove(emitter));
+        emitter.onError(ex -> subscribers.emitters.remove(emitter));
+
+        Snapshot snapshot;
+        synchronized (subscribers) {
+            if (subscribers.snapshot == null) {
+                try {
+                    subscribers.snapshot = render(subscription);
+                } catch (RuntimeException ex) {
+                    subscribers.emitters.remove(emitter);
+                    throw ex;
+                }
+            }
+            snapshot = subscribers.snapshot;
+        }
+        if (version != null && !version.equals(snapshot.version())) {
+            String currentVersion = Objects.toString(snapshot.version(), "");
+            emitter.send(SseEmitter.event().name("refresh-required").id(currentVersion)
+                    .data(Map.of("version", currentVersion), MediaType.APPLICATION_JSON));
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onRepositoryUpdated(ConfigRepositoryUpdatedEvent event) {
+        subscriptions.keySet().forEach(subscription ->
+                subscriptions.computeIfPresent(subscription, (key, subscribers) ->
+                        subscribers.emitters.isEmpty() ? null : subscribers));
+        subscriptions.forEach((subscription, subscribers) -> {
+            try {
+                publishChanges(subscription, subscribers);
+            } catch (RuntimeException ex) {
+                logger.warn("Rendering {} for its change stream failed: {}", subscription, ex.getMessage());
+            }
+        });
+    }
+
+    private void publishChanges(Subscription subscription, Subscribers subscribers) {
+        Map<String, Object> change;
+        synchronized (subscribers) {
+            Snapshot previous = subscribers.snapshot;
+            Snapshot current = render(subscription);
+            subscribers.snapshot = current;
+            if (previous == null) {
+                return;
+            }
+            Map<String, String> changed = new HashMap<>();
+            current.properties().forEach((key, value) -> {
+                if (!value.equals(previous.properties().get(key))) {
+                    changed.put(key, value);
+                }
+            });
+            List<String> removed = previous.properties().keySet().stream()
+                    .filter(key -> !current.properties().containsKey(key))
+                    .toList();
+            if (changed.isEmpty() && removed.isEmpty()) {
+                return;
+            }
+            change = Map.of("version", Objects.toString(current.version(), ""),
+                    "changed", changed, "removed", removed);
+        }
+        for (SseEmitter emitter : subscribers.emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("change").id((String) change.get("version"))
+                        .data(change, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException ex) {
+                subscribers.emitters.remove(emitter);
+            }
+        }
+    }
+
+    /**
+     * @return the environment as the client would see it, one value per key with the first
+     * property source winning, and its version
+     */
+    private Snapshot render(Subscription subscription) {
+        Environment environment = environmentController.labelled(
+                subscription.application(), subscription.profile(), subscription.label());
+        Map<String, String> properties = new HashMap<>();
+        List<PropertySource> propertySources = environment.getPropertySources();
+        for (int i = propertySources.size() - 1; i >= 0; i--) {
+            propertySources.get(i).getSource().forEach((key, value) ->
+                    properties.put(String.valueOf(key), String.valueOf(value)));
+        }
+        return new Snapshot(environment.getVersion(), Map.copyOf(properties));
+    }
+
+    private record Subscription(String application, String profile, String label) {
+    }
+
+    private record Snapshot(String version, Map<String, String> properties) {
+    }
+
+    private static final class Subscribers {
+        private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+        // last rendering sent to the emitters, guarded by this
+        private Snapshot snapshot;
+    }
+}
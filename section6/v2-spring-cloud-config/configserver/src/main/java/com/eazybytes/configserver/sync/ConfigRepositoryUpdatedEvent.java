@@ -0,0 +1,11 @@
+package com.eazybytes.configserver.sync;
+
+import java.util.Map;
+
+/**
+ * Published by GitMirrorSync when a sync moved branches or tags of the mirror.
+ *
+ * @param refs - Short branch and tag names to the object they now point at
+ */
+public record ConfigRepositoryUpdatedEvent(Map<String, String> refs) {
+}
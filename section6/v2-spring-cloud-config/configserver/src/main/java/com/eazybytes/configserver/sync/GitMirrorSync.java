@@ -0,0 +1,212 @@
+package com.eazybytes.configserver.sync;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.transport.RefSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.bus.event.RefreshRemoteApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps a bare mirror of the config repository in sync with the remote in the
+ * background, so environment requests never wait on the remote. The git-mirror
+ * profile turns it on and points the config server at the mirror
+ * (spring.cloud.config.server.git.uri), which then fetches from local disk; the
+ * remote is only fetched here, once right after startup, every git-sync.interval
+ * and right away when /monitor reports a push. Startup doesn't wait for the first
+ * sync; until the mirror holds a clone, see isReady(), EnvironmentCacheFilter answers
+ * repository requests with a 503 instead of letting them fail on the missing mirror.
+ * A failed fetch leaves the mirror at the last good commit, and a mirror left by an
+ * earlier run is served even if the remote can't be reached at startup. A sync that
+ * moves a branch or tag publishes a ConfigRepositoryUpdatedEvent.
+ * The sync time is timed in configserver.git.sync, tagged with its outcome, and
+ * configserver.git.staleness tells how long ago the last one succeeded.
+ */
+@Component
+@ConditionalOnProperty(name = "git-sync.enabled", havingValue = "true")
+public class GitMirrorSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitMirrorSync.class);
+    // branches and tags of the remote as they are, a deleted branch is dropped from the mirror too
+    private static final RefSpec BRANCHES = new RefSpec("+" + Constants.R_HEADS + "*:" + Constants.R_HEADS + "*");
+    private static final RefSpec TAGS = new RefSpec("+" + Constants.R_TAGS + "*:" + Constants.R_TAGS + "*");
+    // a label that names a commit directly, which never moves
+    private static final Pattern COMMIT_ID = Pattern.compile("[0-9a-f]{7,40}");
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final String remoteUri;
+    private final File mirrorDir;
+    private final int timeoutSeconds;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    // System.currentTimeMillis of the last successful sync, 0 before the first one
+    private volatile long lastSuccess;
+    // short branch and tag names of the mirror to the object they point at, as of the last sync
+    private volatile Map<String, String> refs = Map.of();
+
+    public GitMirrorSync(MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher,
+                         @Value("${git-sync.remote-uri}") String remoteUri,
+                         @Value("${git-sync.mirror-dir}") File mirrorDir,
+                         @Value("${git-sync.timeout:10s}") Duration timeout) {
+        this.eventPublisher = eventPublisher;
+        this.remoteUri = remoteUri;
+        this.mirrorDir = mirrorDir;
+        this.timeoutSeconds = (int) timeout.toSeconds();
+        this.successTimer = syncTimer(meterRegistry, "success");
+        this.failureTimer = syncTimer(meterRegistry, "failure");
+        TimeGauge.builder("configserver.git.staleness", this, TimeUnit.MILLISECONDS, GitMirrorSync::staleness)
+                .description("Time since the mirror of the config repository was last synced, -1 before the first sync")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs on the scheduler, first as soon as the context is refreshed, so the clone
+     * from the network never holds up startup.
+     */
+    @Scheduled(fixedDelayString = "${git-sync.interval}")
+    public void scheduledSync() {
+        sync();
+    }
+
+    /**
+     * A push reported to /monitor. Ordered first, so the mirror is synced before the
+     * bus tells the clients to refresh from it.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRefreshRemote(RefreshRemoteApplicationEvent event) {
+        sync();
+    }
+
+    /**
+     * Clones the remote into the mirror on the first run and fetches into it after.
+     *
+     * @return true if the mirror is now in sync with the remote
+     */
+    public synchronized boolean sync() {
+        long start = System.nanoTime();
+        try {
+            if (new File(mirrorDir, Constants.HEAD).exists()) {
+                try (Git git = Git.open(mirrorDir)) {
+                    git.fetch()
+                            .setRemote(remoteUri)
+                            .setRefSpecs(BRANCHES, TAGS)
+                            .setRemoveDeletedRefs(true)
+                            .setTimeout(timeoutSeconds)
+                            .call();
+                }
+            } else {
+                Git.cloneRepository()
+                        .setURI(remoteUri)
+                        .setDirectory(mirrorDir)
+                        .setBare(true)
+                        .setCloneAllBranches(true)
+                        .setTimeout(timeoutSeconds)
+                        .call()
+                        .close();
+            }
+            Map<String, String> previousRefs = refs;
+            refs = readRefs();
+            lastSuccess = System.currentTimeMillis();
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            // the first sync only loads the mirror, nobody can have seen an older state of it
+            if (!previousRefs.isEmpty() && !previousRefs.equals(refs)) {
+                eventPublisher.publishEvent(new ConfigRepositoryUpdatedEvent(refs));
+            }
+            return true;
+        } catch (GitAPIException | IOException ex) {
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.warn("Sync of {} into {} failed, serving the last good mirror: {}",
+                    remoteUri, mirrorDir, ex.getMessage());
+            loadEarlierMirror();
+            return false;
+        }
+    }
+
+    /**
+     * After a failed first sync, takes the refs of a mirror an earlier run left on disk.
+     */
+    private void loadEarlierMirror() {
+        if (!refs.isEmpty() || !new File(mirrorDir, Constants.HEAD).exists()) {
+            return;
+        }
+        try {
+            refs = readRefs();
+        } catch (IOException ex) {
+            logger.warn("Mirror {} left by an earlier run can't be read: {}", mirrorDir, ex.getMessage());
+        }
+    }
+
+    /**
+     * @return true once the mirror holds a clone the config server can fetch from
+     */
+    public boolean isReady() {
+        return !refs.isEmpty();
+    }
+
+    /**
+     * Resolves a label from the mirror's refs as of the last sync, without touching git.
+     *
+     * @param label - Branch, tag or commit id, with "(_)" for "/" as in config server URLs
+     * @return id of the object the label points at, null if the mirror doesn't know it
+     */
+    public String commitOf(String label) {
+        String name = label.replace("(_)", "/");
+        String commit = refs.get(name);
+        if (commit == null && COMMIT_ID.matcher(name).matches()) {
+            return name;
+        }
+        return commit;
+    }
+
+    /**
+     * @return milliseconds since the last successful sync, -1 before the first one
+     */
+    public long staleness() {
+        long last = lastSuccess;
+        return last == 0 ? -1 : System.currentTimeMillis() - last;
+    }
+
+    private Map<String, String> readRefs() throws IOException {
+        Map<String, String> refs = new HashMap<>();
+        try (Git git = Git.open(mirrorDir)) {
+            // tags first, so a branch of the same name wins
+            for (Ref ref : git.getRepository().getRefDatabase().getRefsByPrefix(Constants.R_TAGS)) {
+                refs.put(Repository.shortenRefName(ref.getName()), ref.getObjectId().name());
+            }
+            for (Ref ref : git.getRepository().getRefDatabase().getRefsByPrefix(Constants.R_HEADS)) {
+                refs.put(Repository.shortenRefName(ref.getName()), ref.getObjectId().name());
+            }
+        }
+        return Map.copyOf(refs);
+    }
+
+    private static Timer syncTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("configserver.git.sync")
+                .description("Time taken to sync the mirror of the config repository with the remote")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,177 @@
+package com.eazybytes.configserver.cache;
+
+import com.eazybytes.configserver.sync.GitMirrorSync;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A servlet counting its renders stands in for the config server's environment controller.
+ */
+class EnvironmentCacheFilterTests {
+
+    private static final int CALLERS = 8;
+    private static final String COMMIT = "0123456789abcdef0123456789abcdef01234567";
+    private static final String BODY = "{\"name\":\"accounts\"}";
+
+    private final GitMirrorSync gitMirrorSync = mock(GitMirrorSync.class);
+    private final EnvironmentCacheFilter filter = newFilter();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger renders = new AtomicInteger();
+    private int status = HttpServletResponse.SC_OK;
+
+    @BeforeEach
+    void setUp() {
+        when(gitMirrorSync.isReady()).thenReturn(true);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void answersRepeatsFromMemoryAndRevalidationsWith304() throws Exception {
+        when(gitMirrorSync.commitOf("main")).thenReturn(COMMIT);
+        MockHttpServletResponse first = get(new CountDownLatch(0), null);
+        MockHttpServletResponse repeat = get(new CountDownLatch(0), null);
+        MockHttpServletResponse revalidation = get(new CountDownLatch(0), first.getHeader(HttpHeaders.ETAG));
+
+        assertEquals(BODY, first.getContentAsString());
+        assertEquals(BODY, repeat.getContentAsString());
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, revalidation.getStatus());
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void sharesOneRenderBetweenConcurrentMisses() throws Exception {
+        CountDownLatch arrived = new CountDownLatch(CALLERS);
+        when(gitMirrorSync.commitOf("main")).thenAnswer(invocation -> {
+            arrived.countDown();
+            return COMMIT;
+        });
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            responses.add(executor.submit(() -> get(release, null)));
+        }
+        assertTrue(arrived.await(5, TimeUnit.SECONDS));
+        // give the callers time to join the render in flight before it finishes
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<MockHttpServletResponse> response : responses) {
+            assertEquals(BODY, response.get(5, TimeUnit.SECONDS).getContentAsString());
+        }
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void rendersAgainAfterAResponseThatIsNotA200() throws Exception {
+        when(gitMirrorSync.commitOf("main")).thenReturn(COMMIT);
+        status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        MockHttpServletResponse failed = get(new CountDownLatch(0), null);
+        assertEquals(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, failed.getStatus());
+        assertNull(failed.getHeader(HttpHeaders.ETAG));
+        status = HttpServletResponse.SC_OK;
+        assertEquals(BODY, get(new CountDownLatch(0), null).getContentAsString());
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void neverAnswers304ForAResponseThatIsNotA200() throws Exception {
+        when(gitMirrorSync.commitOf("main")).thenReturn(COMMIT);
+        // the ETag a 200 of another instance carries, this one hasn't cached it
+        String eTag = get(newFilter(), new CountDownLatch(0), null).getHeader(HttpHeaders.ETAG);
+        status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        MockHttpServletResponse revalidation = get(new CountDownLatch(0), eTag);
+        assertEquals(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, revalidation.getStatus());
+        assertNull(revalidation.getHeader(HttpHeaders.ETAG));
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void answersARevalidationOfTheFirstRenderWith304() throws Exception {
+        when(gitMirrorSync.commitOf("main")).thenReturn(COMMIT);
+        String eTag = get(newFilter(), new CountDownLatch(0), null).getHeader(HttpHeaders.ETAG);
+        MockHttpServletResponse revalidation = get(new CountDownLatch(0), eTag);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, revalidation.getStatus());
+        assertEquals("", revalidation.getContentAsString());
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void answers503UntilTheMirrorIsReady() throws Exception {
+        when(gitMirrorSync.isReady()).thenReturn(false);
+        MockHttpServletResponse response = get(new CountDownLatch(0), null);
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, response.getStatus());
+        assertEquals("5", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(0, renders.get());
+    }
+
+    @Test
+    void passesLabelsTheMirrorDoesNotKnowThrough() throws Exception {
+        get(new CountDownLatch(0), null);
+        get(new CountDownLatch(0), null);
+        assertEquals(2, renders.get());
+    }
+
+    private EnvironmentCacheFilter newFilter() {
+        return new EnvironmentCacheFilter(gitMirrorSync, new SimpleMeterRegistry(), "main", 100, Duration.ofMinutes(10));
+    }
+
+    private MockHttpServletResponse get(CountDownLatch release, String ifNoneMatch) throws Exception {
+        return get(filter, release, ifNoneMatch);
+    }
+
+    private MockHttpServletResponse get(EnvironmentCacheFilter filter, CountDownLatch release, String ifNoneMatch)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accounts/default");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                renders.incrementAndGet();
+                try {
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(ex);
+                }
+                resp.setStatus(status);
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+        return response;
+    }
+}
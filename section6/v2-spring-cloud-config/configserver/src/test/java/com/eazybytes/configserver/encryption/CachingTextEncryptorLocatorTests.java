@@ -0,0 +1,63 @@
+package com.eazybytes.configserver.encryption;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachingTextEncryptorLocatorTests {
+
+    private final AtomicInteger decrypts = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private CachingTextEncryptorLocator locator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        locator = new CachingTextEncryptorLocator(keys -> new TextEncryptor() {
+            @Override
+            public String encrypt(String text) {
+                return text;
+            }
+
+            @Override
+            public String decrypt(String encryptedText) {
+                decrypts.incrementAndGet();
+                return encryptedText + "-key1";
+            }
+        }, meterRegistry, 100);
+    }
+
+    @Test
+    void decryptsEachCipherTextOncePerKeySelection() {
+        assertEquals("abc-key1", locator.locate(Map.of()).decrypt("abc"));
+        assertEquals("abc-key1", locator.locate(Map.of()).decrypt("abc"));
+        assertEquals("abc-key1", locator.locate(Map.of("key", "other")).decrypt("abc"));
+        assertEquals(2, decrypts.get());
+        assertEquals(2, meterRegistry.get("configserver.decrypt").timer().count());
+    }
+
+    @Test
+    void rotatedKeysTakeEffectOnNextDecrypt() {
+        assertEquals("abc-key1", locator.locate(Map.of()).decrypt("abc"));
+        locator.rotateKeys(keys -> new TextEncryptor() {
+            @Override
+            public String encrypt(String text) {
+                return text;
+            }
+
+            @Override
+            public String decrypt(String encryptedText) {
+                decrypts.incrementAndGet();
+                return encryptedText + "-key2";
+            }
+        });
+        assertEquals("abc-key2", locator.locate(Map.of()).decrypt("abc"));
+        assertEquals(2, decrypts.get());
+    }
+}
@@ -0,0 +1,35 @@
+package com.eazybytes.configserver.encryption;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.config.server.encryption.SingleTextEncryptorLocator;
+import org.springframework.cloud.config.server.encryption.TextEncryptorLocator;
+import org.springframework.cloud.context.encrypt.EncryptorFactory;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DecryptCachePostProcessorTests {
+
+    @Test
+    void decryptsWithTheNewKeyAfterRotation() {
+        MockEnvironment environment = new MockEnvironment().withProperty("encrypt.key", "key1");
+        DecryptCachePostProcessor postProcessor = new DecryptCachePostProcessor(
+                new StaticListableBeanFactory(Map.of("meterRegistry", new SimpleMeterRegistry()))
+                        .getBeanProvider(MeterRegistry.class), environment, 100);
+        TextEncryptorLocator locator = (TextEncryptorLocator) postProcessor.postProcessAfterInitialization(
+                new SingleTextEncryptorLocator(new EncryptorFactory().create("key1")), "textEncryptorLocator");
+        assertEquals("secret", locator.locate(Map.of()).decrypt(new EncryptorFactory().create("key1").encrypt("secret")));
+
+        environment.setProperty("encrypt.key", "key2");
+        postProcessor.onApplicationEvent(new EnvironmentChangeEvent(Set.of("encrypt.key")));
+
+        assertEquals("secret", locator.locate(Map.of()).decrypt(new EncryptorFactory().create("key2").encrypt("secret")));
+    }
+}
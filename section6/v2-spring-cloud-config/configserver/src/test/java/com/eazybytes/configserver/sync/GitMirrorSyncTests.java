@@ -0,0 +1,134 @@
+package com.eazybytes.configserver.sync;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.transport.RefSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A local bare repository stands in for the remote config repository.
+ */
+class GitMirrorSyncTests {
+
+    @TempDir
+    Path tempDir;
+
+    private File remoteDir;
+    private Git workingCopy;
+    private SimpleMeterRegistry meterRegistry;
+    private GitMirrorSync gitMirrorSync;
+    private final List<Object> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        remoteDir = tempDir.resolve("remote.git").toFile();
+        Git.init().setBare(true).setInitialBranch("main").setDirectory(remoteDir).call().close();
+        workingCopy = Git.init().setInitialBranch("main")
+                .setDirectory(tempDir.resolve("working").toFile()).call();
+        commitAndPush("accounts.yml", "build:\n  version: \"1.0\"\n");
+
+        meterRegistry = new SimpleMeterRegistry();
+        gitMirrorSync = new GitMirrorSync(meterRegistry, events::add, remoteDir.getPath(),
+                tempDir.resolve("mirror.git").toFile(), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void clonesThenFetchesNewCommits() throws Exception {
+        assertTrue(gitMirrorSync.sync());
+        assertEquals(remoteHead(), mirrorHead());
+
+        commitAndPush("accounts.yml", "build:\n  version: \"2.0\"\n");
+        assertTrue(gitMirrorSync.sync());
+        assertEquals(remoteHead(), mirrorHead());
+        assertEquals(1, events.size());
+        assertTrue(gitMirrorSync.sync());
+        assertEquals(1, events.size());
+        assertEquals(3, meterRegistry.get("configserver.git.sync").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void keepsLastGoodMirrorWhenRemoteIsGone() throws Exception {
+        assertTrue(gitMirrorSync.sync());
+        ObjectId lastGood = mirrorHead();
+
+        workingCopy.close();
+        FileSystemUtils.deleteRecursively(remoteDir);
+        assertFalse(gitMirrorSync.sync());
+        assertEquals(lastGood, mirrorHead());
+        assertEquals(1, meterRegistry.get("configserver.git.sync").tag("outcome", "failure").timer().count());
+        assertTrue(gitMirrorSync.staleness() >= 0);
+    }
+
+    @Test
+    void resolvesLabelsFromLastSync() throws Exception {
+        assertTrue(gitMirrorSync.sync());
+        String synced = remoteHead().name();
+        assertEquals(synced, gitMirrorSync.commitOf("main"));
+        assertEquals(synced, gitMirrorSync.commitOf(synced));
+        assertNull(gitMirrorSync.commitOf("feature(_)unknown"));
+
+        commitAndPush("accounts.yml", "build:\n  version: \"2.0\"\n");
+        assertEquals(synced, gitMirrorSync.commitOf("main"));
+        assertTrue(gitMirrorSync.sync());
+        assertEquals(remoteHead().name(), gitMirrorSync.commitOf("main"));
+    }
+
+    @Test
+    void reportsNoStalenessBeforeFirstSync() {
+        assertEquals(-1, gitMirrorSync.staleness());
+        assertFalse(gitMirrorSync.isReady());
+    }
+
+    @Test
+    void servesTheMirrorOfAnEarlierRunWhenTheRemoteIsGone() throws Exception {
+        assertTrue(gitMirrorSync.sync());
+        String synced = remoteHead().name();
+
+        workingCopy.close();
+        FileSystemUtils.deleteRecursively(remoteDir);
+        GitMirrorSync restarted = new GitMirrorSync(new SimpleMeterRegistry(), events::add, remoteDir.getPath(),
+                tempDir.resolve("mirror.git").toFile(), Duration.ofSeconds(5));
+        assertFalse(restarted.isReady());
+        assertFalse(restarted.sync());
+        assertTrue(restarted.isReady());
+        assertEquals(synced, restarted.commitOf("main"));
+    }
+
+    private void commitAndPush(String fileName, String content) throws Exception {
+        Files.writeString(workingCopy.getRepository().getWorkTree().toPath().resolve(fileName), content);
+        workingCopy.add().addFilepattern(fileName).call();
+        workingCopy.commit().setMessage("Update " + fileName).setAuthor("test", "test@eazybytes.com").call();
+        workingCopy.push().setRemote(remoteDir.getPath())
+                .setRefSpecs(new RefSpec("refs/heads/main:refs/heads/main")).call();
+    }
+
+    private ObjectId remoteHead() throws Exception {
+        try (Git remote = Git.open(remoteDir)) {
+            return remote.getRepository().resolve("refs/heads/main");
+        }
+    }
+
+    private ObjectId mirrorHead() throws Exception {
+        try (Git mirror = Git.open(tempDir.resolve("mirror.git").toFile())) {
+            Repository repository = mirror.getRepository();
+            return repository.resolve("refs/heads/main");
+        }
+    }
+}
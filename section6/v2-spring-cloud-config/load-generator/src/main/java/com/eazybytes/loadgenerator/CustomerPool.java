@@ -0,0 +1,85 @@
+package com.eazybytes.loadgenerator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Mobile numbers that currently have data in one service, with the card or loan
+ * number once a fetch has returned it. Random picks and removals are O(1) so the
+ * pool never slows the dispatcher down.
+ */
+final class CustomerPool {
+
+    private static final int NUMBERED_PICK_ATTEMPTS = 8;
+
+    private final List<String> mobileNumbers = new ArrayList<>();
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final Map<String, String> numbers = new HashMap<>();
+
+    synchronized void add(String mobileNumber) {
+        if (!positions.containsKey(mobileNumber)) {
+            positions.put(mobileNumber, mobileNumbers.size());
+            mobileNumbers.add(mobileNumber);
+        }
+    }
+
+    synchronized void setNumber(String mobileNumber, String number) {
+        if (positions.containsKey(mobileNumber)) {
+            numbers.put(mobileNumber, number);
+        }
+    }
+
+    synchronized String number(String mobileNumber) {
+        return numbers.get(mobileNumber);
+    }
+
+    /**
+     * @return a random mobile number, null if the pool is empty
+     */
+    synchronized String pick(Random random) {
+        return mobileNumbers.isEmpty() ? null : mobileNumbers.get(random.nextInt(mobileNumbers.size()));
+    }
+
+    /**
+     * @return a random mobile number whose card or loan number is known, null if a
+     * few random picks found none
+     */
+    synchronized String pickNumbered(Random random) {
+        for (int i = 0; i < NUMBERED_PICK_ATTEMPTS && !mobileNumbers.isEmpty(); i++) {
+            String mobileNumber = mobileNumbers.get(random.nextInt(mobileNumbers.size()));
+            if (numbers.containsKey(mobileNumber)) {
+                return mobileNumber;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes a random mobile number, so that no later request is generated for data
+     * that is about to be deleted.
+     *
+     * @return the removed mobile number, null if the pool is empty
+     */
+    synchronized String remove(Random random) {
+        if (mobileNumbers.isEmpty()) {
+            return null;
+        }
+        int position = random.nextInt(mobileNumbers.size());
+        String mobileNumber = mobileNumbers.get(position);
+        String last = mobileNumbers.remove(mobileNumbers.size() - 1);
+        if (position < mobileNumbers.size()) {
+            mobileNumbers.set(position, last);
+            positions.put(last, position);
+        }
+        positions.remove(mobileNumber);
+        numbers.remove(mobileNumber);
+        return mobileNumber;
+    }
+
+    synchronized int size() {
+        return mobileNumbers.size();
+    }
+}
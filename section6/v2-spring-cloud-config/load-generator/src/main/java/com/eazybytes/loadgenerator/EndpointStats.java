@@ -0,0 +1,95 @@
+package com.eazybytes.loadgenerator;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram in microseconds and outcome counters of one endpoint.
+ * Latencies are measured from the intended start of a request, not from when it
+ * was actually sent, so time spent queued behind a slow server is included.
+ */
+final class EndpointStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void recordResponse(int statusCode, long latencyNanos) {
+        histogram.recordValue(Math.max(1, latencyNanos / 1000));
+        if (statusCode >= 500) {
+            serverErrors.increment();
+        } else if (statusCode >= 400) {
+            clientErrors.increment();
+        } else {
+            successes.increment();
+        }
+    }
+
+    void recordFailure(long latencyNanos) {
+        histogram.recordValue(Math.max(1, latencyNanos / 1000));
+        failures.increment();
+    }
+
+    void recordSkipped() {
+        skipped.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    Histogram histogram() {
+        return histogram;
+    }
+
+    long successes() {
+        return successes.sum();
+    }
+
+    long clientErrors() {
+        return clientErrors.sum();
+    }
+
+    long serverErrors() {
+        return serverErrors.sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    long skipped() {
+        return skipped.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    void reset() {
+        histogram.reset();
+        successes.reset();
+        clientErrors.reset();
+        serverErrors.reset();
+        failures.reset();
+        skipped.reset();
+        dropped.reset();
+    }
+}
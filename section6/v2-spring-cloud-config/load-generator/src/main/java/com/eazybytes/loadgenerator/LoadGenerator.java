@@ -0,0 +1,315 @@
+package com.eazybytes.loadgenerator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open loop load generator for the accounts, cards and loans services. Requests
+ * are started on a fixed schedule at the configured arrival rate, whether or not
+ * earlier requests have been answered, and each latency is measured from the
+ * scheduled start. A server that stalls therefore shows up in the percentiles
+ * instead of silently slowing the generator down (coordinated omission).
+ * <p>
+ * The run seeds every selected service with a customer pool, warms up with the
+ * real workload, then measures. Each request picks a service and an operation by
+ * weight; fetches, updates and deletes go to mobile numbers that currently have
+ * data, creates use new ones. Results are one HdrHistogram per endpoint, printed
+ * as a table and written to the report directory as .hgrm percentile
+ * distributions (in milliseconds, for the HdrHistogram plotter) and a summary.json,
+ * so runs with different builds or configurations can be compared side by side.
+ * <pre>
+ *   java -jar target/load-generator.jar --rate=300 --duration=60 \
+ *       --mix=create=10,fetch=70,update=15,delete=5 --services=accounts=2,cards=1,loans=1 --label=baseline
+ * </pre>
+ * Options, all --name=value:
+ * <ul>
+ *   <li>rate - requests per second over all endpoints (default 200)</li>
+ *   <li>arrival - poisson or uniform spacing of the requests (default poisson)</li>
+ *   <li>duration, warmup - seconds of measurement and warm-up (default 60 and 10)</li>
+ *   <li>mix - operation weights (default create=10,fetch=70,update=15,delete=5)</li>
+ *   <li>services - service weights (default accounts=1,cards=1,loans=1)</li>
+ *   <li>accounts.url, cards.url, loans.url - base URLs (default localhost 8080, 9000, 8090)</li>
+ *   <li>customers - mobile numbers seeded per service before the run (default 500)</li>
+ *   <li>first-mobile-number - first seeded number, change it to rerun against the same servers
+ *   (default 7000000000)</li>
+ *   <li>timeout - request timeout in seconds (default 10)</li>
+ *   <li>max-in-flight - outstanding requests after which new ones are dropped and counted
+ *   (default 10000)</li>
+ *   <li>seed - random seed of the workload (default 42)</li>
+ *   <li>label, report-dir - name of the run and where to write it (default load-report/&lt;label&gt;)</li>
+ * </ul>
+ */
+public final class LoadGenerator {
+
+    private static final int SEED_CONCURRENCY = 64;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final LoadGeneratorOptions options;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random;
+    private final WeightedChoice<TargetService> serviceChoice;
+    private final WeightedChoice<Operation> operationChoice;
+    private final Map<TargetService, CustomerPool> pools = new EnumMap<>(TargetService.class);
+    private final Map<TargetService, Map<Operation, EndpointStats>> stats = new EnumMap<>(TargetService.class);
+    private final AtomicLong nextMobileNumber;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private LoadGenerator(LoadGeneratorOptions options) {
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.random = new Random(options.seed);
+        this.serviceChoice = new WeightedChoice<>(options.services);
+        this.operationChoice = new WeightedChoice<>(options.mix);
+        this.nextMobileNumber = new AtomicLong(options.firstMobileNumber + options.customers);
+        for (TargetService service : options.services.keySet()) {
+            pools.put(service, new CustomerPool());
+            Map<Operation, EndpointStats> serviceStats = new EnumMap<>(Operation.class);
+            for (Operation operation : options.mix.keySet()) {
+                serviceStats.put(operation, new EndpointStats(service.key() + "-" + operation.key()));
+            }
+            stats.put(service, serviceStats);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse(args);
+        System.out.println("load generator: " + options);
+        new LoadGenerator(options).run();
+    }
+
+    private void run() throws IOException, InterruptedException {
+        System.out.printf("seeding %d customers per service%n", options.customers);
+        seed();
+        pools.forEach((service, pool) -> System.out.printf("  %s: %d%n", service.key(), pool.size()));
+
+        System.out.printf("warm-up: %ds%n", options.warmUp.toSeconds());
+        drive(options.warmUp);
+        awaitInFlight();
+        stats.values().forEach(serviceStats -> serviceStats.values().forEach(EndpointStats::reset));
+
+        System.out.printf("measuring: %ds at %.1f req/s%n", options.duration.toSeconds(), options.rate);
+        drive(options.duration);
+        awaitInFlight();
+        report();
+    }
+
+    /**
+     * Creates the initial customers in every service and fetches them back, which
+     * also learns the card and loan numbers the update endpoints need.
+     */
+    private void seed() throws InterruptedException {
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (int i = 0; i < options.customers; i++) {
+            String mobileNumber = String.valueOf(options.firstMobileNumber + i);
+            for (TargetService service : pools.keySet()) {
+                permits.acquire();
+                pending.add(send(service, Operation.CREATE, mobileNumber, null, 0)
+                        .thenCompose(created -> send(service, Operation.FETCH, mobileNumber, null, 0))
+                        .thenAccept(fetched -> {
+                            if (fetched.statusCode() == 200) {
+                                pools.get(service).add(mobileNumber);
+                                learnNumber(service, mobileNumber, fetched.body());
+                            }
+                        })
+                        .whenComplete((ignored, ex) -> permits.release()));
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).exceptionally(ex -> null).join();
+    }
+
+    /**
+     * Starts requests on the arrival schedule for the given time. Runs on a single
+     * thread which owns the random generator.
+     */
+    private void drive(Duration duration) {
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + duration.toNanos();
+        double offsetNanos = 0;
+        while (true) {
+            long intendedStartNanos = startNanos + (long) offsetNanos;
+            if (intendedStartNanos >= endNanos) {
+                return;
+            }
+            long now;
+            while ((now = System.nanoTime()) < intendedStartNanos) {
+                LockSupport.parkNanos(intendedStartNanos - now);
+            }
+            dispatch(intendedStartNanos);
+            offsetNanos += options.arrival == LoadGeneratorOptions.Arrival.POISSON
+                    ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos
+                    : meanIntervalNanos;
+        }
+    }
+
+    private void dispatch(long intendedStartNanos) {
+        TargetService service = serviceChoice.next(random);
+        Operation operation = operationChoice.next(random);
+        EndpointStats endpointStats = stats.get(service).get(operation);
+        CustomerPool pool = pools.get(service);
+
+        String mobileNumber = switch (operation) {
+            case CREATE -> String.valueOf(nextMobileNumber.getAndIncrement());
+            case FETCH -> pool.pick(random);
+            case UPDATE -> service.numberField() == null ? pool.pick(random) : pool.pickNumbered(random);
+            case DELETE -> pool.remove(random);
+        };
+        if (mobileNumber == null) {
+            endpointStats.recordSkipped();
+            return;
+        }
+        if (inFlight.get() >= options.maxInFlight) {
+            endpointStats.recordDropped();
+            return;
+        }
+        String number = operation == Operation.UPDATE ? pool.number(mobileNumber) : null;
+
+        inFlight.incrementAndGet();
+        send(service, operation, mobileNumber, number, random.nextInt(100000)).whenComplete((response, ex) -> {
+            inFlight.decrementAndGet();
+            long latencyNanos = System.nanoTime() - intendedStartNanos;
+            if (ex != null) {
+                endpointStats.recordFailure(latencyNanos);
+                return;
+            }
+            endpointStats.recordResponse(response.statusCode(), latencyNanos);
+            if (operation == Operation.CREATE && response.statusCode() == 201) {
+                pool.add(mobileNumber);
+            } else if (operation == Operation.FETCH && response.statusCode() == 200
+                    && service.numberField() != null && pool.number(mobileNumber) == null) {
+                learnNumber(service, mobileNumber, response.body());
+            }
+        });
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(TargetService service, Operation operation,
+                                                         String mobileNumber, String number, int variant) {
+        HttpRequest request = service.request(operation, options.urls.get(service), mobileNumber, number,
+                variant, options.timeout);
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private void learnNumber(TargetService service, String mobileNumber, byte[] body) {
+        if (service.numberField() == null) {
+            return;
+        }
+        try {
+            JsonNode number = objectMapper.readTree(body).get(service.numberField());
+            if (number != null) {
+                pools.get(service).setNumber(mobileNumber, number.asText());
+            }
+        } catch (IOException ex) {
+            // not a fetch response, the mobile number just stays unavailable for updates
+        }
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + options.timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void report() throws IOException {
+        Files.createDirectories(options.reportDir);
+        double seconds = options.duration.toMillis() / 1000.0;
+        Histogram total = new Histogram(3);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+
+        System.out.printf("%-30s %8s %8s %6s %6s %6s %7s %7s %8s %8s %8s %8s %8s %8s%n", "endpoint", "count",
+                "ok", "4xx", "5xx", "fail", "skipped", "dropped", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        for (Map.Entry<TargetService, Map<Operation, EndpointStats>> serviceStats : stats.entrySet()) {
+            for (Map.Entry<Operation, EndpointStats> entry : serviceStats.getValue().entrySet()) {
+                EndpointStats endpointStats = entry.getValue();
+                String endpoint = serviceStats.getKey().key() + " " + serviceStats.getKey().endpoint(entry.getKey());
+                Histogram histogram = endpointStats.histogram();
+                total.add(histogram);
+                printRow(endpoint, histogram, endpointStats, seconds);
+                try (PrintStream out = new PrintStream(
+                        options.reportDir.resolve(endpointStats.name() + ".hgrm").toFile())) {
+                    histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+                }
+                endpoints.put(endpoint, summary(histogram, endpointStats, seconds));
+            }
+        }
+        printRow("all", total, null, seconds);
+        try (PrintStream out = new PrintStream(options.reportDir.resolve("all.hgrm").toFile())) {
+            total.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("label", options.label);
+        summary.put("options", options.toString());
+        summary.put("endpoints", endpoints);
+        summary.put("all", summary(total, null, seconds));
+        objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValue(options.reportDir.resolve("summary.json").toFile(), summary);
+        System.out.println("latencies in ms; report written to " + options.reportDir.toAbsolutePath());
+    }
+
+    private static void printRow(String endpoint, Histogram histogram, EndpointStats endpointStats, double seconds) {
+        System.out.printf("%-30s %8d %8s %6s %6s %6s %7s %7s %8.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n", endpoint,
+                histogram.getTotalCount(),
+                endpointStats == null ? "" : endpointStats.successes(),
+                endpointStats == null ? "" : endpointStats.clientErrors(),
+                endpointStats == null ? "" : endpointStats.serverErrors(),
+                endpointStats == null ? "" : endpointStats.failures(),
+                endpointStats == null ? "" : endpointStats.skipped(),
+                endpointStats == null ? "" : endpointStats.dropped(),
+                histogram.getTotalCount() / seconds,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, EndpointStats endpointStats, double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        if (endpointStats != null) {
+            summary.put("ok", endpointStats.successes());
+            summary.put("clientErrors", endpointStats.clientErrors());
+            summary.put("serverErrors", endpointStats.serverErrors());
+            summary.put("failures", endpointStats.failures());
+            summary.put("skipped", endpointStats.skipped());
+            summary.put("dropped", endpointStats.dropped());
+        }
+        summary.put("throughput", histogram.getTotalCount() / seconds);
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (double percentile : new double[] {50, 90, 99, 99.9, 99.99}) {
+            percentiles.put("p" + (percentile == (long) percentile ? String.valueOf((long) percentile)
+                    : String.valueOf(percentile)), millis(histogram, percentile));
+        }
+        percentiles.put("max", histogram.getMaxValue() / MICROS_PER_MILLI);
+        summary.put("latencyMillis", percentiles);
+        return summary;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,100 @@
+package com.eazybytes.loadgenerator;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load generator, given as --name=value.
+ */
+final class LoadGeneratorOptions {
+
+    enum Arrival { POISSON, UNIFORM }
+
+    double rate = 200;
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmUp = Duration.ofSeconds(10);
+    int customers = 500;
+    Map<Operation, Integer> mix = parseWeights("create=10,fetch=70,update=15,delete=5", Operation.class);
+    Map<TargetService, Integer> services = parseWeights("accounts=1,cards=1,loans=1", TargetService.class);
+    Map<TargetService, String> urls = new EnumMap<>(TargetService.class);
+    Arrival arrival = Arrival.POISSON;
+    Duration timeout = Duration.ofSeconds(10);
+    int maxInFlight = 10000;
+    long firstMobileNumber = 7000000000L;
+    long seed = 42;
+    String label = "run";
+    Path reportDir;
+
+    static LoadGeneratorOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadGeneratorOptions options = new LoadGeneratorOptions();
+        for (TargetService service : TargetService.values()) {
+            options.urls.put(service, service.defaultUrl());
+        }
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue();
+            switch (entry.getKey()) {
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> options.warmUp = Duration.ofSeconds(Long.parseLong(value));
+                case "customers" -> options.customers = Integer.parseInt(value);
+                case "mix" -> options.mix = parseWeights(value, Operation.class);
+                case "services" -> options.services = parseWeights(value, TargetService.class);
+                case "accounts.url" -> options.urls.put(TargetService.ACCOUNTS, value);
+                case "cards.url" -> options.urls.put(TargetService.CARDS, value);
+                case "loans.url" -> options.urls.put(TargetService.LOANS, value);
+                case "arrival" -> options.arrival = Arrival.valueOf(value.toUpperCase());
+                case "timeout" -> options.timeout = Duration.ofSeconds(Long.parseLong(value));
+                case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "first-mobile-number" -> options.firstMobileNumber = Long.parseLong(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "label" -> options.label = value;
+                case "report-dir" -> options.reportDir = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + entry.getKey());
+            }
+        }
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (options.reportDir == null) {
+            options.reportDir = Path.of("load-report", options.label);
+        }
+        return options;
+    }
+
+    /**
+     * @param weights - e.g. create=10,fetch=70
+     * @param type    - Enum the names belong to
+     * @return weight by constant, in declaration order
+     */
+    private static <E extends Enum<E>> Map<E, Integer> parseWeights(String weights, Class<E> type) {
+        Map<E, Integer> parsed = new EnumMap<>(type);
+        for (String weight : weights.split(",")) {
+            String[] parts = weight.trim().split("=");
+            int value = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Negative weight in " + weights);
+            }
+            parsed.put(Enum.valueOf(type, parts[0].trim().toUpperCase()), value);
+        }
+        return parsed;
+    }
+
+    @Override
+    public String toString() {
+        return "rate=" + rate + "/s, arrival=" + arrival.name().toLowerCase() + ", duration=" + duration.toSeconds()
+                + "s, warmup=" + warmUp.toSeconds() + "s, customers=" + customers + ", mix=" + mix
+                + ", services=" + services + ", urls=" + urls;
+    }
+}
@@ -0,0 +1,13 @@
+package com.eazybytes.loadgenerator;
+
+/**
+ * Kinds of request in the workload mix.
+ */
+public enum Operation {
+
+    CREATE, FETCH, UPDATE, DELETE;
+
+    public String key() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,96 @@
+package com.eazybytes.loadgenerator;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * The services under load and how each of them is asked to create, fetch, update
+ * and delete the data of one mobile number, through the same endpoints the
+ * controllers expose.
+ */
+public enum TargetService {
+
+    ACCOUNTS("http://localhost:8080", null),
+    CARDS("http://localhost:9000", "cardNumber"),
+    LOANS("http://localhost:8090", "loanNumber");
+
+    private final String defaultUrl;
+    private final String numberField;
+
+    TargetService(String defaultUrl, String numberField) {
+        this.defaultUrl = defaultUrl;
+        this.numberField = numberField;
+    }
+
+    public String key() {
+        return name().toLowerCase();
+    }
+
+    public String defaultUrl() {
+        return defaultUrl;
+    }
+
+    /**
+     * @return field of the fetch response holding the card or loan number the update
+     * endpoint needs, null when the update goes by mobile number only
+     */
+    public String numberField() {
+        return numberField;
+    }
+
+    /**
+     * @param operation - Operation
+     * @return method and path of the endpoint the operation is sent to
+     */
+    public String endpoint(Operation operation) {
+        return switch (operation) {
+            case CREATE -> "POST /api/create";
+            case FETCH -> "GET /api/fetch";
+            case UPDATE -> this == ACCOUNTS ? "PATCH /api/update" : "PUT /api/update";
+            case DELETE -> "DELETE /api/delete";
+        };
+    }
+
+    /**
+     * @param operation    - Operation to send
+     * @param baseUrl      - Base URL of the service
+     * @param mobileNumber - Mobile number the request is about
+     * @param number       - Card or loan number for updates of cards and loans
+     * @param variant      - Varies the updated values from one update to the next
+     * @param timeout      - Request timeout
+     * @return the HTTP request
+     */
+    public HttpRequest request(Operation operation, String baseUrl, String mobileNumber, String number,
+                               int variant, Duration timeout) {
+        HttpRequest.Builder builder = switch (operation) {
+            case CREATE -> this == ACCOUNTS
+                    ? json(baseUrl + "/api/create", "POST", """
+                        {"name":"Load Test %s","email":"load%s@eazybytes.com","mobileNumber":"%s"}"""
+                        .formatted(mobileNumber, mobileNumber, mobileNumber))
+                    : HttpRequest.newBuilder(URI.create(baseUrl + "/api/create?mobileNumber=" + mobileNumber))
+                        .POST(HttpRequest.BodyPublishers.noBody());
+            case FETCH -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/fetch?mobileNumber=" + mobileNumber))
+                    .GET();
+            case UPDATE -> switch (this) {
+                case ACCOUNTS -> json(baseUrl + "/api/update?mobileNumber=" + mobileNumber, "PATCH", """
+                        {"accountsDto":{"branchAddress":"%d Main Street, New York"}}""".formatted(variant));
+                case CARDS -> json(baseUrl + "/api/update", "PUT", """
+                        {"mobileNumber":"%s","cardNumber":"%s","cardType":"Credit Card","totalLimit":100000,\
+                        "amountUsed":%d,"availableAmount":%d}""".formatted(mobileNumber, number, variant, 100000 - variant));
+                case LOANS -> json(baseUrl + "/api/update", "PUT", """
+                        {"mobileNumber":"%s","loanNumber":"%s","loanType":"Home Loan","totalLoan":100000,\
+                        "amountPaid":%d,"outstandingAmount":%d}""".formatted(mobileNumber, number, variant, 100000 - variant));
+            };
+            case DELETE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/delete?mobileNumber=" + mobileNumber))
+                    .DELETE();
+        };
+        return builder.timeout(timeout).build();
+    }
+
+    private static HttpRequest.Builder json(String url, String method, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+    }
+}
@@ -0,0 +1,40 @@
+package com.eazybytes.loadgenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Picks one of a fixed set of values with probability proportional to its weight.
+ */
+final class WeightedChoice<T> {
+
+    private final List<T> values = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    WeightedChoice(Map<T, Integer> weights) {
+        cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        for (Map.Entry<T, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            cumulativeWeights[values.size()] = total;
+            values.add(entry.getKey());
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive: " + weights);
+        }
+        totalWeight = total;
+    }
+
+    T next(Random random) {
+        int point = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return values.get(i);
+            }
+        }
+        throw new IllegalStateException();
+    }
+}
@@ -0,0 +1,81 @@
+package com.eazybytes.loans.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: while a load for a key runs, callers asking
+ * for the same key wait for it and share its result, or its exception, instead of
+ * running their own query. Nothing is kept once the load finishes, so this is not
+ * a cache and works the same with or without one in front of it; behind a cache it
+ * only sees the misses.
+ * <p>
+ * The singleflight.calls counter, tagged with the operation name and whether the
+ * call ran the load (executed) or joined one in flight (coalesced), gives the
+ * coalescing rate as coalesced / (executed + coalesced).
+ */
+@Component
+public class SingleFlight {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Flight, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> executedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param name   - Operation name, keys of different operations never coalesce
+     * @param key    - Key of the read
+     * @param loader - Runs the read, must return a value not shared with any session
+     * @return the result of this call's load or of the one in flight for the key
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String name, Object key, Supplier<V> loader) {
+        Flight flight = new Flight(name, key);
+        CompletableFuture<Object> started = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(flight, started);
+        if (running != null) {
+            counter(coalescedCounters, name, "coalesced").increment();
+            try {
+                return (V) running.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw ex;
+            }
+        }
+        counter(executedCounters, name, "executed").increment();
+        try {
+            V value = loader.get();
+            started.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            started.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(flight, started);
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String result) {
+        return counters.computeIfAbsent(name, operation -> Counter.builder("singleflight.calls")
+                .description("Reads that ran a query or joined one already running for the same key")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+
+    private record Flight(String name, Object key) {
+    }
+}
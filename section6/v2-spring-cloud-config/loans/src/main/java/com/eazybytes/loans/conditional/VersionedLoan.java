@@ -0,0 +1,37 @@
+package com.eazybytes.loans.conditional;
+
+import com.eazybytes.loans.dto.LoansDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Loan Details with the ResourceVersion of the same row, so the ETag sent with a
+ * body always describes that body.
+ *
+ * @param loan    - Loan Details of the mobile number
+ * @param version - ETag and Last-Modified of those details
+ */
+public record VersionedLoan(LoansDto loan, ResourceVersion version) {
+
+    /**
+     * Used by the JPQL constructor expression in LoansRepository to build both from one row
+     */
+    public VersionedLoan(String mobileNumber, String loanNumber, String loanType,
+                         int totalLoan, int amountPaid, int outstandingAmount,
+                         Long loanId, Long version, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(loansDto(mobileNumber, loanNumber, loanType, totalLoan, amountPaid, outstandingAmount),
+                new ResourceVersion(loanId, version, createdAt, updatedAt));
+    }
+
+    private static LoansDto loansDto(String mobileNumber, String loanNumber, String loanType,
+                                     int totalLoan, int amountPaid, int outstandingAmount) {
+        LoansDto loansDto = new LoansDto();
+        loansDto.setMobileNumber(mobileNumber);
+        loansDto.setLoanNumber(loanNumber);
+        loansDto.setLoanType(loanType);
+        loansDto.setTotalLoan(totalLoan);
+        loansDto.setAmountPaid(amountPaid);
+        loansDto.setOutstandingAmount(outstandingAmount);
+        return loansDto;
+    }
+}
@@ -0,0 +1,20 @@
+package com.eazybytes.loans.config;
+
+import com.eazybytes.allocator.NumberAllocator;
+import com.eazybytes.loans.constants.LoansConstants;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Loan numbers, 12 digits, drawn from loan_number_seq.
+ */
+@Configuration
+public class NumberAllocatorConfig {
+
+    @Bean
+    public NumberAllocator numberAllocator(JdbcTemplate jdbcTemplate) {
+        return new NumberAllocator(jdbcTemplate, LoansConstants.LOAN_NUMBER_SEQUENCE, LoansConstants.LOAN_NUMBER_BLOCK_SIZE,
+                LoansConstants.LOAN_NUMBER_BASE, LoansConstants.LOAN_NUMBER_MAX);
+    }
+}
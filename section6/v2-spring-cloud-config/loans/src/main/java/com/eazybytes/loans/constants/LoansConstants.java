@@ -7,7 +7,22 @@ public final class LoansConstants {
     }
 
     public static final String  HOME_LOAN = "Home Loan";
+    // the unique constraint behind the "already registered" answers, see schema.sql
+    public static final String  LOAN_MOBILE_NUMBER_CONSTRAINT = "uk_loans_mobile_number";
     public static final int  NEW_LOAN_LIMIT = 1_00_000;
+    // must match INCREMENT BY of loan_number_seq in schema.sql
+    public static final String  LOAN_NUMBER_SEQUENCE = "loan_number_seq";
+    public static final int  LOAN_NUMBER_BLOCK_SIZE = 1000;
+    public static final long  LOAN_NUMBER_BASE = 100_000_000_000L;
+    public static final long  LOAN_NUMBER_MAX = 999_999_999_999L;
+    // page size bounds of /api/list
+    public static final String  LIST_DEFAULT_PAGE_SIZE = "20";
+    public static final int  LIST_MAX_PAGE_SIZE = 100;
+    // mobile numbers per IN list of /api/delete/batch
+    public static final int  DELETE_BATCH_IN_LIST_SIZE = 500;
+    public static final String  IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    // Jackson Smile, served next to JSON and CBOR, see BinaryFormatsConfig
+    public static final String  SMILE_MEDIA_TYPE = "application/x-jackson-smile";
     public static final String  STATUS_201 = "201";
     public static final String  MESSAGE_201 = "Loan created successfully";
     public static final String  STATUS_200 = "200";
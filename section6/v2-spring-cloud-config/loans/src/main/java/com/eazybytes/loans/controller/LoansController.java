@@ -1,11 +1,18 @@
 package com.eazybytes.loans.controller;
 
+import com.eazybytes.config.stream.HotSwapPropertiesPostProcessor;
+import com.eazybytes.loans.conditional.ResourceVersion;
+import com.eazybytes.loans.conditional.VersionedLoan;
 import com.eazybytes.loans.constants.LoansConstants;
+import com.eazybytes.loans.dto.DeleteBatchRequestDto;
+import com.eazybytes.loans.dto.DeleteBatchResponseDto;
 import com.eazybytes.loans.dto.ErrorResponseDto;
 import com.eazybytes.loans.dto.LoansContactInfoDto;
 import com.eazybytes.loans.dto.LoansDto;
+import com.eazybytes.loans.dto.LoansPageDto;
 import com.eazybytes.loans.dto.ResponseDto;
 import com.eazybytes.loans.service.ILoansService;
+import com.eazybytes.loans.idempotency.IdempotencyStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,7 +20,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
@@ -22,6 +32,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * @author Eazy Bytes
@@ -32,7 +43,8 @@ import org.springframework.web.bind.annotation.*;
         description = "CRUD REST APIs in EazyBank to CREATE, UPDATE, FETCH AND DELETE loan details"
 )
 @RestController
-@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE, LoansConstants.SMILE_MEDIA_TYPE})
 //@AllArgsConstructor
 @Validated
 public class LoansController {
@@ -55,6 +67,9 @@ public class LoansController {
     @Autowired
     private LoansContactInfoDto loansContactInfoDto;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
 
     @Operation(
             summary = "Create Loan REST API",
@@ -65,6 +80,13 @@ public class LoansController {
                     responseCode = "201",
                     description = "HTTP Status CREATED"
             ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "HTTP Status Conflict, Idempotency-Key reused for another request or still in progress",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
@@ -77,11 +99,16 @@ public class LoansController {
     @PostMapping("/create")
     public ResponseEntity<ResponseDto> createLoan(@RequestParam
                                                       @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
-                                                      String mobileNumber) {
-        iLoansService.createLoan(mobileNumber);
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(new ResponseDto(LoansConstants.STATUS_201, LoansConstants.MESSAGE_201));
+                                                      String mobileNumber,
+                                                  @RequestHeader(name = LoansConstants.IDEMPOTENCY_KEY_HEADER, required = false)
+                                                      @Size(max = 255, message = "Idempotency-Key must be at most 255 characters")
+                                                      String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, mobileNumber, () -> {
+            iLoansService.createLoan(mobileNumber);
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(new ResponseDto(LoansConstants.STATUS_201, LoansConstants.MESSAGE_201));
+        });
     }
 
     @Operation(
@@ -93,6 +120,10 @@ public class LoansController {
                     responseCode = "200",
                     description = "HTTP Status OK"
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "HTTP Status Not Modified, the If-None-Match or If-Modified-Since header still matches"
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
@@ -105,9 +136,52 @@ public class LoansController {
     @GetMapping("/fetch")
     public ResponseEntity<LoansDto> fetchLoanDetails(@RequestParam
                                                                @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
-                                                               String mobileNumber) {
-        LoansDto loansDto = iLoansService.fetchLoan(mobileNumber);
-        return ResponseEntity.status(HttpStatus.OK).body(loansDto);
+                                                               String mobileNumber,
+                                                     WebRequest webRequest) {
+        // a poll whose If-None-Match / If-Modified-Since still matches gets a bodiless 304;
+        // otherwise checkNotModified has set ETag and Last-Modified of the very body sent
+        VersionedLoan versioned = iLoansService.fetchVersionedLoan(mobileNumber);
+        ResourceVersion version = versioned.version();
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified())) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(versioned.loan());
+    }
+
+    @Operation(
+            summary = "List Loan Details REST API",
+            description = "REST API to page through loan details, optionally of one loan type"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status Bad Request",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping("/list")
+    public ResponseEntity<LoansPageDto> listLoanDetails(@RequestParam(required = false) String loanType,
+                                                           @RequestParam(required = false) String pageToken,
+                                                           @RequestParam(defaultValue = LoansConstants.LIST_DEFAULT_PAGE_SIZE)
+                                                           @Min(value = 1, message = "Page size must be at least 1")
+                                                           @Max(value = LoansConstants.LIST_MAX_PAGE_SIZE, message = "Page size must be at most 100")
+                                                           int pageSize) {
+        LoansPageDto loansPageDto = iLoansService.listLoans(loanType, pageToken, pageSize);
+        return ResponseEntity.status(HttpStatus.OK).body(loansPageDto);
     }
 
     @Operation(
@@ -184,6 +258,31 @@ public class LoansController {
         }
     }
 
+    @Operation(
+            summary = "Batch Delete Loan Details REST API",
+            description = "REST API to delete the loans of up to 1000 mobile numbers in one transaction"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping("/delete/batch")
+    public ResponseEntity<DeleteBatchResponseDto> deleteLoanDetailsBatch(@Valid @RequestBody DeleteBatchRequestDto deleteBatchRequestDto) {
+        DeleteBatchResponseDto deleteBatchResponseDto = iLoansService.deleteLoans(deleteBatchRequestDto.getMobileNumbers());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(deleteBatchResponseDto);
+    }
+
     @Operation(
             summary = "Get Build information",
             description = "Get Build information that is deployed into loans microservice"
@@ -256,7 +355,7 @@ public class LoansController {
     public ResponseEntity<LoansContactInfoDto> getContactInfo(){
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(loansContactInfoDto);
+                .body(HotSwapPropertiesPostProcessor.snapshot(loansContactInfoDto));
     }
 
 }
@@ -0,0 +1,25 @@
+package com.eazybytes.loans.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data @AllArgsConstructor
+@Schema(
+        name = "LoansPage",
+        description = "Schema to hold one page of Loan information"
+)
+public class LoansPageDto {
+
+    @Schema(
+            description = "Loan details of the page"
+    )
+    private List<LoansDto> loans;
+
+    @Schema(
+            description = "Token to pass as pageToken for the next page, absent on the last page"
+    )
+    private String nextPageToken;
+}
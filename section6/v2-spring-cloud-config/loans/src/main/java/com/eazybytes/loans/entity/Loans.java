@@ -4,6 +4,10 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@Table(name = "loans", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_loans_mobile_number", columnNames = "mobile_number"),
+		@UniqueConstraint(name = "uk_loans_loan_number", columnNames = "loan_number")
+}, indexes = @Index(name = "idx_loans_loan_type", columnList = "loan_type, loan_id"))
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
 public class Loans extends BaseEntity {
 
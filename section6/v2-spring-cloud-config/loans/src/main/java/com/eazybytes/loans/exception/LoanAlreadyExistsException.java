@@ -7,7 +7,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public class LoanAlreadyExistsException extends RuntimeException {
 
     public LoanAlreadyExistsException(String message){
-        super(message);
+        super(message, null, false, false);
     }
 
 }
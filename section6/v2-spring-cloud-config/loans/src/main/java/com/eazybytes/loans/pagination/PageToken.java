@@ -0,0 +1,50 @@
+package com.eazybytes.loans.pagination;
+
+import com.eazybytes.loans.exception.InvalidPageTokenException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token of the keyset listing. It carries the last primary key of
+ * the previous page, base64url encoded so clients treat it as opaque.
+ */
+public final class PageToken {
+
+    private static final String PREFIX = "loans:";
+
+    private PageToken() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param lastId - Primary key of the last row of the page
+     * @return token resuming the listing after that row
+     */
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @param pageToken - Token of a previous page, null or empty for the first page
+     * @return primary key to resume after, 0 for the first page
+     */
+    public static long decode(String pageToken) {
+        if (pageToken == null || pageToken.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.US_ASCII);
+            if (value.startsWith(PREFIX)) {
+                long lastId = Long.parseLong(value.substring(PREFIX.length()));
+                if (lastId > 0) {
+                    return lastId;
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            // not base64 or not a number, reported below
+        }
+        throw new InvalidPageTokenException(pageToken);
+    }
+}
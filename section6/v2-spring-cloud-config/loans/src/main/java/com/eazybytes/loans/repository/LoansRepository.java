@@ -1,9 +1,17 @@
 package com.eazybytes.loans.repository;
 
+import com.eazybytes.loans.conditional.VersionedLoan;
 import com.eazybytes.loans.entity.Loans;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +19,25 @@ public interface LoansRepository extends JpaRepository<Loans, Long> {
 
     Optional<Loans> findByMobileNumber(String mobileNumber);
 
+    // one SELECT straight into the response DTO, with the id, version and audit timestamps of the same row
+    @Query("SELECT new com.eazybytes.loans.conditional.VersionedLoan(c.mobileNumber, c.loanNumber, c.loanType, c.totalLoan, c.amountPaid, c.outstandingAmount, " +
+            "c.loanId, c.version, c.createdAt, c.updatedAt) " +
+            "FROM Loans c WHERE c.mobileNumber = :mobileNumber")
+    Optional<VersionedLoan> findVersionedLoanByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
     Optional<Loans> findByLoanNumber(String loanNumber);
 
+    List<Loans> findByLoanIdGreaterThanOrderByLoanId(Long loanId, Limit limit);
+
+    List<Loans> findByLoanTypeAndLoanIdGreaterThanOrderByLoanId(String loanType, Long loanId, Limit limit);
+
+    @Query("SELECT l.mobileNumber FROM Loans l WHERE l.mobileNumber IN :mobileNumbers")
+    List<String> findExistingMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    // one DELETE statement, nothing is loaded into the persistence context first
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Loans l WHERE l.mobileNumber IN :mobileNumbers")
+    int deleteByMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
 }
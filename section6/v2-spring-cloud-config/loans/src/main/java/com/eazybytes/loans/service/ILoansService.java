@@ -1,6 +1,11 @@
 package com.eazybytes.loans.service;
 
+import com.eazybytes.loans.conditional.VersionedLoan;
+import com.eazybytes.loans.dto.DeleteBatchResponseDto;
 import com.eazybytes.loans.dto.LoansDto;
+import com.eazybytes.loans.dto.LoansPageDto;
+
+import java.util.List;
 
 public interface ILoansService {
 
@@ -17,6 +22,21 @@ public interface ILoansService {
      */
     LoansDto fetchLoan(String mobileNumber);
 
+    /**
+     * @param mobileNumber - Input mobile Number
+     * @return Loan Details of the mobile number with their ETag and Last-Modified, read from one row
+     */
+    VersionedLoan fetchVersionedLoan(String mobileNumber);
+
+    /**
+     *
+     * @param loanType - Only list this type of loan, null for all
+     * @param pageToken - Token of the previous page, null for the first page
+     * @param pageSize - Maximum number of loans on the page
+     * @return Loan Details of the page, in loan id order
+     */
+    LoansPageDto listLoans(String loanType, String pageToken, int pageSize);
+
     /**
      *
      * @param loansDto - LoansDto Object
@@ -31,4 +51,11 @@ public interface ILoansService {
      */
     boolean deleteLoan(String mobileNumber);
 
+    /**
+     *
+     * @param mobileNumbers - Mobile Numbers of the customers to offboard
+     * @return number of loans deleted and the mobile numbers without a loan
+     */
+    DeleteBatchResponseDto deleteLoans(List<String> mobileNumbers);
+
 }
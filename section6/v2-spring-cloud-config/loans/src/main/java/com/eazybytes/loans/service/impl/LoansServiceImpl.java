@@ -1,35 +1,54 @@
 package com.eazybytes.loans.service.impl;
 
+import com.eazybytes.allocator.NumberAllocator;
 import com.eazybytes.loans.constants.LoansConstants;
+import com.eazybytes.loans.coalescing.SingleFlight;
+import com.eazybytes.loans.conditional.VersionedLoan;
+import com.eazybytes.loans.dto.DeleteBatchResponseDto;
 import com.eazybytes.loans.dto.LoansDto;
+import com.eazybytes.loans.dto.LoansPageDto;
 import com.eazybytes.loans.entity.Loans;
+import com.eazybytes.loans.exception.ConstraintViolations;
 import com.eazybytes.loans.exception.LoanAlreadyExistsException;
 import com.eazybytes.loans.exception.ResourceNotFoundException;
 import com.eazybytes.loans.mapper.LoansMapper;
+import com.eazybytes.loans.pagination.PageToken;
 import com.eazybytes.loans.repository.LoansRepository;
 import com.eazybytes.loans.service.ILoansService;
 import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class LoansServiceImpl implements ILoansService {
 
     private LoansRepository loansRepository;
+    private NumberAllocator numberAllocator;
+    private SingleFlight singleFlight;
 
     /**
      * @param mobileNumber - Mobile Number of the Customer
      */
     @Override
     public void createLoan(String mobileNumber) {
-        Optional<Loans> optionalLoans= loansRepository.findByMobileNumber(mobileNumber);
-        if(optionalLoans.isPresent()){
+        // uk_loans_mobile_number rejects a duplicate even when two requests race, no lookup needed first
+        try {
+            loansRepository.save(createNewLoan(mobileNumber));
+        } catch (DataIntegrityViolationException ex) {
+            if (!ConstraintViolations.violates(ex, LoansConstants.LOAN_MOBILE_NUMBER_CONSTRAINT)) {
+                throw ex;
+            }
             throw new LoanAlreadyExistsException("Loan already registered with given mobileNumber "+mobileNumber);
         }
-        loansRepository.save(createNewLoan(mobileNumber));
     }
 
     /**
@@ -38,8 +57,7 @@ public class LoansServiceImpl implements ILoansService {
      */
     private Loans createNewLoan(String mobileNumber) {
         Loans newLoan = new Loans();
-        long randomLoanNumber = 100000000000L + new Random().nextInt(900000000);
-        newLoan.setLoanNumber(Long.toString(randomLoanNumber));
+        newLoan.setLoanNumber(Long.toString(numberAllocator.next()));
         newLoan.setMobileNumber(mobileNumber);
         newLoan.setLoanType(LoansConstants.HOME_LOAN);
         newLoan.setTotalLoan(LoansConstants.NEW_LOAN_LIMIT);
@@ -55,10 +73,46 @@ public class LoansServiceImpl implements ILoansService {
      */
     @Override
     public LoansDto fetchLoan(String mobileNumber) {
-        Loans loans = loansRepository.findByMobileNumber(mobileNumber).orElseThrow(
-                () -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
-        );
-        return LoansMapper.mapToLoansDto(loans, new LoansDto());
+        return fetchVersionedLoan(mobileNumber).loan();
+    }
+
+    /**
+     * @param mobileNumber - Input mobile Number
+     * @return Loan Details of the mobile number with their ETag and Last-Modified, read from one row
+     */
+    @Override
+    public VersionedLoan fetchVersionedLoan(String mobileNumber) {
+        // concurrent fetches of one mobile number share a single query and its DTO
+        return singleFlight.execute("fetchLoan", mobileNumber,
+                () -> loansRepository.findVersionedLoanByMobileNumber(mobileNumber).orElseThrow(
+                        () -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
+                ));
+    }
+
+    /**
+     * Seeks past the last loanId of the previous page instead of skipping rows,
+     * so every page costs one index range scan however deep it is.
+     *
+     * @param loanType - Only list this type of loan, null for all
+     * @param pageToken - Token of the previous page, null for the first page
+     * @param pageSize - Maximum number of loans on the page
+     * @return Loan Details of the page, in loan id order
+     */
+    @Override
+    public LoansPageDto listLoans(String loanType, String pageToken, int pageSize) {
+        long afterLoanId = PageToken.decode(pageToken);
+        // one extra row tells whether another page follows
+        Limit limit = Limit.of(pageSize + 1);
+        List<Loans> loans = loanType == null
+                ? loansRepository.findByLoanIdGreaterThanOrderByLoanId(afterLoanId, limit)
+                : loansRepository.findByLoanTypeAndLoanIdGreaterThanOrderByLoanId(loanType, afterLoanId, limit);
+        boolean hasNextPage = loans.size() > pageSize;
+        List<Loans> page = hasNextPage ? loans.subList(0, pageSize) : loans;
+        List<LoansDto> loansDtos = page.stream()
+                .map(loan -> LoansMapper.mapToLoansDto(loan, new LoansDto()))
+                .toList();
+        String nextPageToken = hasNextPage ? PageToken.encode(page.get(pageSize - 1).getLoanId()) : null;
+        return new LoansPageDto(loansDtos, nextPageToken);
     }
 
     /**
@@ -81,12 +135,35 @@ public class LoansServiceImpl implements ILoansService {
      */
     @Override
     public boolean deleteLoan(String mobileNumber) {
-        Loans loans = loansRepository.findByMobileNumber(mobileNumber).orElseThrow(
-                () -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
-        );
-        loansRepository.deleteById(loans.getLoanId());
+        if (loansRepository.deleteByMobileNumbers(List.of(mobileNumber)) == 0) {
+            throw new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber);
+        }
         return true;
     }
 
+    /**
+     * One SELECT and one DELETE per DELETE_BATCH_IN_LIST_SIZE mobile numbers, all in one transaction.
+     *
+     * @param mobileNumbers - Mobile Numbers of the customers to offboard
+     * @return number of loans deleted and the mobile numbers without a loan
+     */
+    @Override
+    @Transactional
+    public DeleteBatchResponseDto deleteLoans(List<String> mobileNumbers) {
+        List<String> uniqueMobileNumbers = new ArrayList<>(new LinkedHashSet<>(mobileNumbers));
+        Set<String> existingMobileNumbers = new HashSet<>();
+        int deleted = 0;
+        for (int from = 0; from < uniqueMobileNumbers.size(); from += LoansConstants.DELETE_BATCH_IN_LIST_SIZE) {
+            List<String> inList = uniqueMobileNumbers.subList(from,
+                    Math.min(from + LoansConstants.DELETE_BATCH_IN_LIST_SIZE, uniqueMobileNumbers.size()));
+            existingMobileNumbers.addAll(loansRepository.findExistingMobileNumbers(inList));
+            deleted += loansRepository.deleteByMobileNumbers(inList);
+        }
+        List<String> notFound = uniqueMobileNumbers.stream()
+                .filter(mobileNumber -> !existingMobileNumbers.contains(mobileNumber))
+                .toList();
+        return new DeleteBatchResponseDto(deleted, notFound);
+    }
+
 
 }
@@ -1,3 +1,6 @@
+-- each call reserves a block of 1000 loan numbers, see NumberAllocator
+CREATE SEQUENCE IF NOT EXISTS `loan_number_seq` START WITH 1 INCREMENT BY 1000;
+
 CREATE TABLE IF NOT EXISTS `loans` (
   `loan_id` int NOT NULL AUTO_INCREMENT,
   `mobile_number` varchar(15) NOT NULL,
@@ -6,9 +9,15 @@ CREATE TABLE IF NOT EXISTS `loans` (
   `total_loan` int NOT NULL,
   `amount_paid` int NOT NULL,
   `outstanding_amount` int NOT NULL,
-  `created_at` date NOT NULL,
+  `created_at` timestamp NOT NULL,
   `created_by` varchar(20) NOT NULL,
-  `updated_at` date DEFAULT NULL,
+  `updated_at` timestamp DEFAULT NULL,
   `updated_by` varchar(20) DEFAULT NULL,
-  PRIMARY KEY (`loan_id`)
-);
\ No newline at end of file
+  `version` bigint DEFAULT 0 NOT NULL,
+  PRIMARY KEY (`loan_id`),
+  CONSTRAINT `uk_loans_mobile_number` UNIQUE (`mobile_number`),
+  CONSTRAINT `uk_loans_loan_number` UNIQUE (`loan_number`)
+);
+
+-- keyset listing filtered by type seeks on (loan_type, loan_id)
+CREATE INDEX IF NOT EXISTS `idx_loans_loan_type` ON `loans` (`loan_type`, `loan_id`);
\ No newline at end of file
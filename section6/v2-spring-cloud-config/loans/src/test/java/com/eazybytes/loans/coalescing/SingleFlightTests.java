@@ -0,0 +1,132 @@
+package com.eazybytes.loans.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTests {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sharesOneLoadBetweenConcurrentCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Object value = new Object();
+        List<Future<Object>> results = callConcurrently(() -> {
+            loads.incrementAndGet();
+            await(release);
+            return value;
+        });
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+        for (Future<Object> result : results) {
+            assertSame(value, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, calls("executed"));
+    }
+
+    @Test
+    void sharesTheExceptionOfTheLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database down");
+        List<Future<Object>> results = callConcurrently(() -> {
+            loads.incrementAndGet();
+            await(release);
+            throw failure;
+        });
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+        for (Future<Object> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, ex.getCause());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void keepsNothingOnceTheLoadFinished() {
+        singleFlight.execute("fetch", "4354437687", loads::incrementAndGet);
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("fetch", "4354437687", () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("database down");
+        }));
+        singleFlight.execute("fetch", "4354437687", loads::incrementAndGet);
+        assertEquals(3, loads.get());
+        assertEquals(0, calls("coalesced"));
+    }
+
+    @Test
+    void neverCoalescesDifferentOperations() {
+        // would wait on itself if "version" joined the "fetch" load in flight for the same key
+        Object result = singleFlight.execute("fetch", "4354437687",
+                () -> singleFlight.execute("version", "4354437687", () -> loads.incrementAndGet() + loads.incrementAndGet()));
+        assertEquals(3, result);
+        assertEquals(2, calls("executed"));
+    }
+
+    @Test
+    void forgetsTheFlightWhenTheLoadFailsWithAnError() {
+        assertThrows(StackOverflowError.class, () -> singleFlight.execute("fetch", "4354437687", () -> {
+            throw new StackOverflowError();
+        }));
+        assertEquals(1, singleFlight.execute("fetch", "4354437687", loads::incrementAndGet));
+    }
+
+    private List<Future<Object>> callConcurrently(Supplier<Object> loader) {
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("fetch", "4354437687", loader)));
+        }
+        return results;
+    }
+
+    private void awaitCoalesced(int callers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls("coalesced") < callers) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the load in flight");
+            Thread.sleep(1);
+        }
+    }
+
+    private double calls(String result) {
+        Counter counter = meterRegistry.find("singleflight.calls").tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.eazybytes.loans.idempotency;
+
+import com.eazybytes.loans.exception.IdempotencyConflictException;
+import com.eazybytes.loans.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyStoreTests {
+
+    private final IdempotencyStore store =
+            new IdempotencyStore(100, Duration.ofMinutes(10), Duration.ofSeconds(1), new SimpleMeterRegistry());
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void runsOnceAndReplaysTheResponse() {
+        ResponseEntity<String> first = store.execute("key", "request", this::created);
+        ResponseEntity<String> second = store.execute("key", "request", this::created);
+        assertEquals(1, runs.get());
+        assertEquals(HttpStatus.CREATED, second.getStatusCode());
+        assertEquals(first.getBody(), second.getBody());
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void runsWithoutAKeyEveryTime() {
+        store.execute(null, "request", this::created);
+        store.execute(null, "request", this::created);
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void rejectsAKeyReusedForADifferentRequest() {
+        store.execute("key", "request", this::created);
+        assertThrows(IdempotencyConflictException.class, () -> store.execute("key", "other request", this::created));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void keepsClientErrors() {
+        assertThrows(ResourceNotFoundException.class, () -> store.execute("key", "request", this::notFound));
+        assertThrows(ResourceNotFoundException.class, () -> store.execute("key", "request", this::notFound));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void forgetsServerErrors() {
+        assertThrows(IllegalStateException.class, () -> store.execute("key", "request", () -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("database down");
+        }));
+        store.execute("key", "request", this::created);
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void forgetsRequestsThatFailedWithAnError() {
+        assertThrows(OutOfMemoryError.class, () -> store.execute("key", "request", () -> {
+            runs.incrementAndGet();
+            throw new OutOfMemoryError();
+        }));
+        ResponseEntity<String> retried = store.execute("key", "request", this::created);
+        assertEquals(2, runs.get());
+        assertNull(retried.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void scopesKeysByEndpoint() {
+        onRequest("POST", "/api/create");
+        store.execute("key", "request", this::created);
+        onRequest("PUT", "/api/update");
+        ResponseEntity<String> other = store.execute("key", "request", this::created);
+        onRequest("POST", "/api/create");
+        ResponseEntity<String> replayed = store.execute("key", "request", this::created);
+        assertEquals(2, runs.get());
+        assertNull(other.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals("true", replayed.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    private ResponseEntity<String> created() {
+        return ResponseEntity.status(HttpStatus.CREATED).body("run " + runs.incrementAndGet());
+    }
+
+    private ResponseEntity<String> notFound() {
+        runs.incrementAndGet();
+        throw new ResourceNotFoundException("Customer", "mobileNumber", "4354437687");
+    }
+
+    private static void onRequest(String method, String uri) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(method, uri)));
+    }
+}
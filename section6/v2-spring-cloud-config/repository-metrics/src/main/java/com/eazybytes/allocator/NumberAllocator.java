@@ -0,0 +1,100 @@
+package com.eazybytes.allocator;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out unique numbers in [base + 1, max] from blocks reserved on a database sequence.
+ *
+ * Every instance reserves its own block with one sequence call, so two instances never
+ * share a block. Inside a block numbers are taken with a single getAndIncrement, no lock.
+ * When a block runs out, one thread reserves the next one while the others wait for it,
+ * so a rollover costs one sequence call however many threads notice it. The lock is a
+ * ReentrantLock rather than synchronized, a virtual thread waiting on it doesn't pin its carrier.
+ */
+public class NumberAllocator {
+
+    private final LongSupplier blockReserver;
+    private final int blockSize;
+    private final long base;
+    private final long max;
+    // starts exhausted so the first call reserves a block, not the constructor
+    private final AtomicReference<Block> currentBlock = new AtomicReference<>(new Block(0, 0));
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    /**
+     * @param jdbcTemplate - Runs the sequence calls
+     * @param sequence - Name of the sequence, its INCREMENT BY must be blockSize
+     * @param blockSize - Numbers in each reserved block
+     * @param base - Added to every sequence value
+     * @param max - Largest number handed out
+     */
+    public NumberAllocator(JdbcTemplate jdbcTemplate, String sequence, int blockSize, long base, long max) {
+        this(() -> jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class),
+                blockSize, base, max);
+    }
+
+    /**
+     * @param blockReserver - Returns the first value of a fresh block, must step by blockSize
+     * @param blockSize - Numbers in each reserved block
+     * @param base - Added to every reserved value
+     * @param max - Largest number handed out
+     */
+    public NumberAllocator(LongSupplier blockReserver, int blockSize, long base, long max) {
+        this.blockReserver = blockReserver;
+        this.blockSize = blockSize;
+        this.base = base;
+        this.max = max;
+    }
+
+    /**
+     * @return a number that has not been handed out before
+     */
+    public long next() {
+        long number = base + nextValue();
+        if (number > max) {
+            throw new IllegalStateException("Number range exhausted, nothing left above " + base + " up to " + max);
+        }
+        return number;
+    }
+
+    private long nextValue() {
+        while (true) {
+            Block block = currentBlock.get();
+            long value = block.next.getAndIncrement();
+            if (value < block.limit) {
+                return value;
+            }
+            refill(block);
+        }
+    }
+
+    /**
+     * @param exhausted - Block the caller found exhausted, replaced unless another thread already did
+     */
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (currentBlock.get() == exhausted) {
+                long start = blockReserver.getAsLong();
+                currentBlock.set(new Block(start, start + blockSize));
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long limit;
+
+        private Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.eazybytes.metrics.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Adds the spring.data.repository.rows summary to every service with this jar and Spring Data on its classpath.
+ */
+@AutoConfiguration
+@ConditionalOnClass({RepositoryFactoryBeanSupport.class, MeterRegistry.class})
+public class RepositoryRowMetricsAutoConfiguration {
+
+    @Bean
+    public static RepositoryRowMetricsPostProcessor repositoryRowMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryRowMetricsPostProcessor(meterRegistry);
+    }
+}
@@ -0,0 +1,117 @@
+package com.eazybytes.metrics.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult.State;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how many rows each repository method returned, or changed for bulk
+ * updates and deletes, in the spring.data.repository.rows summary tagged like
+ * Boot's spring.data.repository.invocations timer (repository, method, state,
+ * exception). A failed call records 0 rows under state ERROR and the exception's
+ * simple name. Hooks into the repository proxies the same way Boot's timer does,
+ * so no AOP infrastructure is needed. Registered by RepositoryRowMetricsAutoConfiguration.
+ */
+public class RepositoryRowMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryRowMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(repositoryFactory ->
+                    repositoryFactory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(new RowCountingInterceptor(
+                                    repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private final class RowCountingInterceptor implements MethodInterceptor {
+
+        private final String repository;
+        private final Map<SummaryKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+        private RowCountingInterceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            if (!reportsRows(method)) {
+                return invocation.proceed();
+            }
+            Object result;
+            try {
+                result = invocation.proceed();
+            } catch (Throwable ex) {
+                // same exception tag value as Boot's DefaultRepositoryTagsProvider
+                record(new SummaryKey(method, State.ERROR, ex.getClass().getSimpleName()), 0);
+                throw ex;
+            }
+            record(new SummaryKey(method, State.SUCCESS, "None"), rows(method, result));
+            return result;
+        }
+
+        private void record(SummaryKey key, long rows) {
+            summaries.computeIfAbsent(key, k -> DistributionSummary
+                            .builder("spring.data.repository.rows")
+                            .description("Rows returned, or changed by bulk statements, per repository method")
+                            .baseUnit("rows")
+                            .tag("repository", repository)
+                            .tag("method", k.method().getName())
+                            .tag("state", k.state().name())
+                            .tag("exception", k.exception())
+                            .register(meterRegistry.getObject()))
+                    .record(rows);
+        }
+
+        private boolean reportsRows(Method method) {
+            Class<?> returnType = method.getReturnType();
+            return returnType != void.class && returnType != boolean.class && returnType != Boolean.class;
+        }
+
+        /**
+         * @return rows behind the result
+         */
+        private long rows(Method method, Object result) {
+            if (result == null) {
+                return 0;
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Number number) {
+                // affected rows of a @Modifying query, the value itself for count queries
+                return method.getName().startsWith("count") ? 1 : number.longValue();
+            }
+            return 1;
+        }
+    }
+
+    private record SummaryKey(Method method, State state, String exception) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.eazybytes.allocator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NumberAllocatorTests {
+
+    private static final long BASE = 1_000_000_000L;
+    private static final long MAX = 9_999_999_999L;
+
+    @Test
+    void handsOutEachBlockInOrder() {
+        AtomicLong sequence = new AtomicLong(1);
+        NumberAllocator allocator = new NumberAllocator(() -> sequence.getAndAdd(3), 3, BASE, MAX);
+        List<Long> numbers = IntStream.range(0, 5).mapToObj(i -> allocator.next()).toList();
+        assertEquals(IntStream.rangeClosed(1, 5).mapToObj(i -> BASE + i).toList(), numbers);
+        assertEquals(7, sequence.get());
+    }
+
+    @Test
+    void reservesOneBlockPerRolloverUnderContention() throws Exception {
+        int blockSize = 10;
+        int threads = 32;
+        int numbersPerThread = 100;
+        AtomicInteger reservations = new AtomicInteger();
+        NumberAllocator allocator = new NumberAllocator(() -> {
+            // slow enough for the other threads to pile up on the exhausted block
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            return (long) reservations.getAndIncrement() * blockSize;
+        }, blockSize, BASE, MAX);
+
+        Set<Long> numbers = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = IntStream.range(0, threads).<Future<?>>mapToObj(t -> executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < numbersPerThread; i++) {
+                    numbers.add(allocator.next());
+                }
+                return null;
+            })).toList();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * numbersPerThread, numbers.size());
+        assertEquals(threads * numbersPerThread / blockSize, reservations.get());
+    }
+
+    @Test
+    void failsOnceTheRangeIsExhausted() {
+        AtomicLong sequence = new AtomicLong(MAX - BASE);
+        NumberAllocator allocator = new NumberAllocator(sequence::getAndIncrement, 1, BASE, MAX);
+        allocator.next();
+        assertThrows(IllegalStateException.class, allocator::next);
+    }
+}